@@ -0,0 +1,57 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the benchmarks uber-jar. Accepts the regular JMH command line (e.g. a benchmark
+ * regex, -p shape=LARGE, -f 1) and always enables the GC profiler so every run reports
+ * gc.alloc.rate.norm (bytes/op) alongside ns/op.
+ * <p/>
+ * Usage: java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+ * 
+ * @author Todd Fredrich
+ */
+public final class BenchmarkRunner
+{
+	private BenchmarkRunner()
+	{
+		// Prevents instantiation.
+	}
+
+	public static void main(String[] args)
+	throws RunnerException, CommandLineOptionException
+	{
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		ChainedOptionsBuilder options = new OptionsBuilder()
+			.parent(commandLine)
+			.addProfiler(GCProfiler.class);
+
+		if (commandLine.getIncludes().isEmpty())
+		{
+			options.include(BenchmarkRunner.class.getPackageName() + ".*");
+		}
+
+		new Runner(options.build()).run();
+	}
+}
@@ -0,0 +1,47 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.benchmark;
+
+import com.strategicgains.noschema.document.ObjectCodec;
+import com.strategicgains.noschema.gson.GsonObjectCodec;
+import com.strategicgains.noschema.jackson.JacksonObjectCodec;
+
+/**
+ * The ObjectCodec implementations available to the benchmarks, selectable by name via JMH @Param.
+ * 
+ * @author Todd Fredrich
+ */
+public final class Codecs
+{
+	public static final String GSON = "gson";
+	public static final String JACKSON = "jackson";
+
+	private Codecs()
+	{
+		// Prevents instantiation.
+	}
+
+	public static <T> ObjectCodec<T> from(String name)
+	{
+		switch(name)
+		{
+			case GSON: return new GsonObjectCodec<>();
+			case JACKSON: return new JacksonObjectCodec<>();
+			default:
+				throw new IllegalStateException("Invalid codec: " + name);
+		}
+	}
+}
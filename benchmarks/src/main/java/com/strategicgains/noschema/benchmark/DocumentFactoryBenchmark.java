@@ -0,0 +1,84 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.strategicgains.noschema.cassandra.document.CassandraDocumentFactory;
+import com.strategicgains.noschema.cassandra.key.KeyDefinitionParser;
+import com.strategicgains.noschema.document.Document;
+import com.strategicgains.noschema.exception.KeyDefinitionException;
+
+/**
+ * Measures CassandraDocumentFactory.asDocument() (identifier extraction plus serialization) and
+ * asPojo() for each codec and entity shape. The key definition walks a nested property, matching
+ * the 'by_name' view used by the samples.
+ * 
+ * @author Todd Fredrich
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class DocumentFactoryBenchmark
+{
+	private static final String KEYS = "(account.id as account_id:UUID), name:text";
+
+	@Param({Codecs.GSON, Codecs.JACKSON})
+	private String codecName;
+
+	@Param
+	private EntityShape shape;
+
+	private CassandraDocumentFactory<SampleEntity> factory;
+	private SampleEntity entity;
+	private Document document;
+
+	@Setup
+	public void setup()
+	throws KeyDefinitionException
+	{
+		factory = new CassandraDocumentFactory<>(KeyDefinitionParser.parse(KEYS), Codecs.from(codecName));
+		entity = shape.create();
+		document = factory.asDocument(entity);
+	}
+
+	@Benchmark
+	public Document asDocument()
+	{
+		return factory.asDocument(entity);
+	}
+
+	@Benchmark
+	public SampleEntity asPojo()
+	{
+		return factory.asPojo(document);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.strategicgains.noschema.document.Document;
+import com.strategicgains.noschema.document.DocumentFilter;
+import com.strategicgains.noschema.document.GzipDocumentFilter;
+
+/**
+ * Measures the DocumentFilter chain the way CassandraRepository applies it: in-order on write and
+ * in reverse order on read. The payload is the Jackson-serialized entity for the given shape.
+ * "gzip-stream" is the original stream-based GzipDocumentFilter, for comparison with the pooled one.
+ * 
+ * @author Todd Fredrich
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class DocumentFilterBenchmark
+{
+	private static final String NONE = "none";
+	private static final String GZIP = "gzip";
+	private static final String GZIP_FAST = "gzip-1";
+	private static final String GZIP_STREAM = "gzip-stream";
+
+	@Param({NONE, GZIP, GZIP_FAST, GZIP_STREAM})
+	private String filters;
+
+	@Param
+	private EntityShape shape;
+
+	private List<DocumentFilter> chain;
+	private byte[] payload;
+	private byte[] filtered;
+
+	@Setup
+	public void setup()
+	{
+		chain = createChain(filters);
+		payload = Codecs.<SampleEntity>from(Codecs.JACKSON).serialize(shape.create());
+		filtered = onWrite().getObject();
+	}
+
+	@Benchmark
+	public Document onWrite()
+	{
+		Document document = new Document(payload, SampleEntity.class);
+		chain.forEach(f -> f.onWrite(document));
+		return document;
+	}
+
+	@Benchmark
+	public Document onRead()
+	{
+		Document document = new Document(filtered, SampleEntity.class);
+		chain.reversed().forEach(f -> f.onRead(document));
+		return document;
+	}
+
+	private static List<DocumentFilter> createChain(String names)
+	{
+		List<DocumentFilter> chain = new ArrayList<>();
+
+		switch(names)
+		{
+			case NONE: break;
+			case GZIP: chain.add(new GzipDocumentFilter());
+			break;
+			case GZIP_FAST: chain.add(new GzipDocumentFilter(Deflater.BEST_SPEED));
+			break;
+			case GZIP_STREAM: chain.add(new StreamGzipDocumentFilter());
+			break;
+			default:
+				throw new IllegalStateException("Invalid filter chain: " + names);
+		}
+
+		return chain;
+	}
+}
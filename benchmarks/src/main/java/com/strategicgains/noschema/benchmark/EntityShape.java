@@ -0,0 +1,87 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.benchmark;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * The entity sizes exercised by the benchmarks. Content is generated from a fixed seed so every run
+ * (and every fork) sees identical payloads with a realistic, word-based compressibility.
+ * <p/>
+ * Approximate serialized JSON sizes: SMALL ~250 bytes, MEDIUM ~2 KB, LARGE ~24 KB.
+ * 
+ * @author Todd Fredrich
+ */
+public enum EntityShape
+{
+	SMALL(2, 0, 8),
+	MEDIUM(16, 16, 96),
+	LARGE(128, 256, 1536);
+
+	private static final long SEED = 1648598130233L;
+	private static final String[] WORDS = {
+		"rose", "tulip", "daisy", "orchid", "lily", "violet", "peony", "iris", "aster", "dahlia",
+		"red", "white", "pink", "yellow", "blue", "garden", "bloom", "petal", "stem", "leaf"
+	};
+
+	private final int tagCount;
+	private final int attributeCount;
+	private final int descriptionWords;
+
+	EntityShape(int tagCount, int attributeCount, int descriptionWords)
+	{
+		this.tagCount = tagCount;
+		this.attributeCount = attributeCount;
+		this.descriptionWords = descriptionWords;
+	}
+
+	public SampleEntity create()
+	{
+		Random random = new Random(SEED);
+		SampleEntity entity = new SampleEntity(new UUID(random.nextLong(), random.nextLong()), new UUID(random.nextLong(), random.nextLong()), words(random, 2));
+		entity.setDescription(words(random, descriptionWords));
+
+		for (int i = 0; i < tagCount; i++)
+		{
+			entity.addTag(words(random, 1));
+		}
+
+		for (int i = 0; i < attributeCount; i++)
+		{
+			entity.putAttribute("attr" + i, words(random, 3));
+		}
+
+		Date now = new Date(SEED);
+		entity.setCreatedAt(now);
+		entity.setUpdatedAt(now);
+		return entity;
+	}
+
+	private static String words(Random random, int count)
+	{
+		StringBuilder sb = new StringBuilder();
+
+		for (int i = 0; i < count; i++)
+		{
+			if (i > 0) sb.append(' ');
+			sb.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+
+		return sb.toString();
+	}
+}
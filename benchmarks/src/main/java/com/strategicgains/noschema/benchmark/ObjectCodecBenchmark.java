@@ -0,0 +1,96 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.strategicgains.noschema.document.ByteBufferOutputStream;
+import com.strategicgains.noschema.document.ObjectCodec;
+
+/**
+ * Measures ObjectCodec.serialize() and ObjectCodec.deserialize() for each codec and entity shape,
+ * both through byte arrays and streaming through a reused buffer and a direct ByteBuffer.
+ * 
+ * @author Todd Fredrich
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class ObjectCodecBenchmark
+{
+	@Param({Codecs.GSON, Codecs.JACKSON})
+	private String codecName;
+
+	@Param
+	private EntityShape shape;
+
+	private ObjectCodec<SampleEntity> codec;
+	private SampleEntity entity;
+	private byte[] serialized;
+	private ByteBuffer direct;
+	private ByteBufferOutputStream buffer = new ByteBufferOutputStream();
+
+	@Setup
+	public void setup()
+	{
+		codec = Codecs.from(codecName);
+		entity = shape.create();
+		serialized = codec.serialize(entity);
+		direct = ByteBuffer.allocateDirect(serialized.length).put(serialized).flip();
+	}
+
+	@Benchmark
+	public byte[] serialize()
+	{
+		return codec.serialize(entity);
+	}
+
+	@Benchmark
+	public SampleEntity deserialize()
+	{
+		return codec.deserialize(serialized, SampleEntity.class);
+	}
+
+	@Benchmark
+	public ByteBuffer serializeToBuffer()
+	{
+		buffer.reset();
+		codec.serialize(entity, buffer);
+		return buffer.toByteBuffer();
+	}
+
+	@Benchmark
+	public SampleEntity deserializeFromDirectBuffer()
+	{
+		return codec.deserialize(direct, SampleEntity.class);
+	}
+}
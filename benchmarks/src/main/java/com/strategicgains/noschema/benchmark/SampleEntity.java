@@ -0,0 +1,147 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.strategicgains.noschema.Identifiable;
+import com.strategicgains.noschema.Identifier;
+
+/**
+ * A plain POJO used by the benchmarks. It carries a nested account reference (so key extraction walks
+ * a dotted path like the Flower samples) plus collections whose sizes are controlled by {@link EntityShape}.
+ * 
+ * @author Todd Fredrich
+ * @see EntityShape
+ */
+public class SampleEntity
+implements Identifiable
+{
+	private UUID id;
+	private AccountReference account = new AccountReference();
+	private String name;
+	private String description;
+	private List<String> tags;
+	private Map<String, String> attributes;
+	private Date createdAt;
+	private Date updatedAt;
+
+	public SampleEntity()
+	{
+		super();
+	}
+
+	public SampleEntity(UUID id, UUID accountId, String name)
+	{
+		this();
+		this.id = id;
+		this.account.setId(accountId);
+		this.name = name;
+		this.tags = new ArrayList<>();
+		this.attributes = new LinkedHashMap<>();
+	}
+
+	@Override
+	public Identifier getIdentifier()
+	{
+		return new Identifier(id);
+	}
+
+	public UUID getId()
+	{
+		return id;
+	}
+
+	public UUID getAccountId()
+	{
+		return account.getId();
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public String getDescription()
+	{
+		return description;
+	}
+
+	public void setDescription(String description)
+	{
+		this.description = description;
+	}
+
+	public List<String> getTags()
+	{
+		return tags;
+	}
+
+	public void addTag(String tag)
+	{
+		tags.add(tag);
+	}
+
+	public Map<String, String> getAttributes()
+	{
+		return attributes;
+	}
+
+	public void putAttribute(String name, String value)
+	{
+		attributes.put(name, value);
+	}
+
+	public Date getCreatedAt()
+	{
+		return createdAt;
+	}
+
+	public void setCreatedAt(Date createdAt)
+	{
+		this.createdAt = createdAt;
+	}
+
+	public Date getUpdatedAt()
+	{
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt)
+	{
+		this.updatedAt = updatedAt;
+	}
+
+	public static class AccountReference
+	{
+		private UUID id;
+
+		public UUID getId()
+		{
+			return id;
+		}
+
+		public void setId(UUID id)
+		{
+			this.id = id;
+		}
+	}
+}
@@ -20,7 +20,7 @@ public abstract class AbstractTable
 	// The keys that identify the primary identifier 
 	private KeyDefinition keys;
 
-	// How long should the table's data live? (0 implies forever)
+	// How long, in seconds, should the table's data live? Applied as 'using ttl' on writes. (0 implies forever)
 	private long ttl;
 
 	// Any extra name/value tag-alongs the customer wants to include.
@@ -0,0 +1,375 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.strategicgains.noschema.Identifiable;
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.Repository;
+
+/**
+ * A read-through cache of decoded entities in front of a CassandraRepository. Entities are cached
+ * per (table, Identifier), so reads from the primary table and from each view are cached separately.
+ * Eviction is size- and time-based using Caffeine's frequency-aware (W-TinyLFU) policy, which keeps
+ * frequently-read reference data cached even under scans of rarely-read entities.
+ *
+ * Writes made through this repository invalidate the primary table entry and every view entry cached
+ * for the entity, tracked by its primary table identifier. Writes made directly to the underlying
+ * repository, or by other processes, are only seen once the cached entries expire.
+ *
+ * Cached entities are shared between callers and should be treated as read-only. Also, EntityObserver.afterRead()
+ * is only called when an entity is loaded from the database, not when it is served from the cache.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class CachingRepository<T extends Identifiable>
+implements Repository<T>
+{
+	private final CassandraRepository<T> repository;
+	private final String tableName;
+	private final Cache<CacheKey, T> cache;
+	// The cache keys for each entity by its primary table identifier, used to invalidate all of its view entries.
+	private final Map<Identifier, Set<CacheKey>> keysByEntity = new ConcurrentHashMap<>();
+	// The number of invalidations, incremented before the entries are discarded.
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * @param repository the repository to cache.
+	 * @param maximumSize the maximum number of entities to cache, across the primary table and all views.
+	 * @param expireAfterWrite how long an entity stays cached after being read from the database.
+	 */
+	public CachingRepository(CassandraRepository<T> repository, long maximumSize, Duration expireAfterWrite)
+	{
+		super();
+		this.repository = Objects.requireNonNull(repository);
+		this.tableName = repository.tableName();
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(Objects.requireNonNull(expireAfterWrite))
+			.executor(Runnable::run)
+			.removalListener(this::onRemoval)
+			.recordStats()
+			.build();
+	}
+
+	@Override
+	public T create(T entity)
+	{
+		try
+		{
+			return repository.create(entity);
+		}
+		finally
+		{
+			invalidate(entity);
+		}
+	}
+
+	public T create(T entity, long ttl)
+	{
+		try
+		{
+			return repository.create(entity, ttl);
+		}
+		finally
+		{
+			invalidate(entity);
+		}
+	}
+
+	@Override
+	public List<T> createAll(Collection<T> entities)
+	{
+		try
+		{
+			return repository.createAll(entities);
+		}
+		finally
+		{
+			entities.forEach(this::invalidate);
+		}
+	}
+
+	@Override
+	public void delete(Identifier id)
+	{
+		try
+		{
+			repository.delete(id);
+		}
+		finally
+		{
+			invalidate(id);
+		}
+	}
+
+	public void delete(T entity)
+	{
+		try
+		{
+			repository.delete(entity);
+		}
+		finally
+		{
+			invalidate(entity);
+		}
+	}
+
+	@Override
+	public boolean exists(Identifier id)
+	{
+		return exists(tableName, id);
+	}
+
+	public boolean exists(String viewName, Identifier id)
+	{
+		return (cache.getIfPresent(new CacheKey(viewName, id)) != null || repository.exists(viewName, id));
+	}
+
+	@Override
+	public T read(Identifier id)
+	{
+		return read(tableName, id);
+	}
+
+	public T read(String viewName, Identifier id)
+	{
+		CacheKey key = new CacheKey(viewName, id);
+		T cached = cache.getIfPresent(key);
+
+		if (cached != null) return cached;
+
+		long generation = invalidations.get();
+		T entity = repository.read(viewName, id);
+		cache(key, entity, generation);
+		return entity;
+	}
+
+	@Override
+	public List<T> readIn(List<Identifier> ids)
+	{
+		return readIn(tableName, ids);
+	}
+
+	/**
+	 * Reads the cached entities from the cache and the rest from the underlying repository, caching them.
+	 * Entities are returned in the order of the given identifiers. Entities that are not found are not
+	 * included in the result.
+	 */
+	public List<T> readIn(String viewName, List<Identifier> ids)
+	{
+		if (ids == null) return Collections.emptyList();
+
+		Map<Identifier, T> found = new HashMap<>(ids.size());
+		List<Identifier> misses = new ArrayList<>();
+
+		ids.forEach(id -> {
+			T entity = cache.getIfPresent(new CacheKey(viewName, id));
+
+			if (entity != null) found.put(id, entity);
+			else misses.add(id);
+		});
+
+		if (!misses.isEmpty())
+		{
+			long generation = invalidations.get();
+			repository.readIn(viewName, misses).forEach(entity -> {
+				Identifier id = repository.identifierOf(viewName, entity);
+				cache(new CacheKey(viewName, id), entity, generation);
+				found.put(id, entity);
+			});
+		}
+
+		List<T> results = new ArrayList<>(found.size());
+
+		ids.forEach(id -> {
+			T entity = found.get(id);
+			if (entity != null) results.add(entity);
+		});
+
+		return results;
+	}
+
+	@Override
+	public T update(T updated, T original)
+	{
+		try
+		{
+			return repository.update(updated, original);
+		}
+		finally
+		{
+			invalidate(updated);
+			if (original != null) invalidate(original);
+		}
+	}
+
+	public T update(T updated, T original, long ttl)
+	{
+		try
+		{
+			return repository.update(updated, original, ttl);
+		}
+		finally
+		{
+			invalidate(updated);
+			if (original != null) invalidate(original);
+		}
+	}
+
+	@Override
+	public T upsert(T entity)
+	{
+		try
+		{
+			return repository.upsert(entity);
+		}
+		finally
+		{
+			invalidate(entity);
+		}
+	}
+
+	public T upsert(T entity, long ttl)
+	{
+		try
+		{
+			return repository.upsert(entity, ttl);
+		}
+		finally
+		{
+			invalidate(entity);
+		}
+	}
+
+	@Override
+	public List<T> upsertAll(Collection<T> entities)
+	{
+		try
+		{
+			return repository.upsertAll(entities);
+		}
+		finally
+		{
+			entities.forEach(this::invalidate);
+		}
+	}
+
+	/**
+	 * Discard every cached entry.
+	 */
+	public void invalidateAll()
+	{
+		invalidations.incrementAndGet();
+		cache.invalidateAll();
+	}
+
+	/**
+	 * Discard the primary table entry and all view entries cached for the entity with the given primary table identifier.
+	 *
+	 * @param id the primary table identifier of an entity.
+	 */
+	public void invalidate(Identifier id)
+	{
+		invalidations.incrementAndGet();
+		cache.invalidate(new CacheKey(tableName, id));
+		Set<CacheKey> keys;
+
+		// Keys registered by a concurrent read after the remove start a new set, so check again until none are left.
+		while ((keys = keysByEntity.remove(id)) != null)
+		{
+			cache.invalidateAll(keys);
+		}
+	}
+
+	/**
+	 * The hit, miss and eviction counters of the cache.
+	 */
+	public CacheStats stats()
+	{
+		return cache.stats();
+	}
+
+	public long hitCount()
+	{
+		return cache.stats().hitCount();
+	}
+
+	public long missCount()
+	{
+		return cache.stats().missCount();
+	}
+
+	public long evictionCount()
+	{
+		return cache.stats().evictionCount();
+	}
+
+	/**
+	 * The approximate number of entries in the cache.
+	 */
+	public long size()
+	{
+		return cache.estimatedSize();
+	}
+
+	private void invalidate(T entity)
+	{
+		invalidate(repository.identifierOf(tableName, entity));
+	}
+
+	/**
+	 * Cache an entity read from the database, unless an entity has been invalidated since the given generation
+	 * was taken, before the read. The entity may then predate a write made through this repository.
+	 */
+	private void cache(CacheKey key, T entity, long generation)
+	{
+		if (invalidations.get() != generation) return;
+
+		// Cache before registering, so a concurrent invalidate() either sees the key or runs before it is cached.
+		cache.put(key, entity);
+		register(entity, key);
+
+		// An invalidation may have run between the check and the put, so check again.
+		if (invalidations.get() != generation) cache.invalidate(key);
+	}
+
+	private void register(T entity, CacheKey key)
+	{
+		keysByEntity.compute(repository.identifierOf(tableName, entity), (id, keys) -> {
+			Set<CacheKey> s = (keys != null ? keys : new HashSet<>());
+			s.add(key);
+			return s;
+		});
+	}
+
+	private void onRemoval(CacheKey key, T entity, RemovalCause cause)
+	{
+		// A replaced entry is still cached under the same key.
+		if (key == null || entity == null || cause == RemovalCause.REPLACED) return;
+
+		keysByEntity.computeIfPresent(repository.identifierOf(tableName, entity), (id, keys) -> {
+			keys.remove(key);
+			return (keys.isEmpty() ? null : keys);
+		});
+	}
+
+	private record CacheKey(String table, Identifier id)
+	{
+	}
+}
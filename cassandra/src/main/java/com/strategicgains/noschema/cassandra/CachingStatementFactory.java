@@ -1,7 +1,9 @@
 package com.strategicgains.noschema.cassandra;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
@@ -26,6 +28,16 @@ public class CachingStatementFactory<T extends Identifiable>
 		});
 	}
 
+	/**
+	 * Prepare the statements of every table without blocking, as for CqlStatementFactory.prepareAsync().
+	 */
+	public CompletableFuture<Void> prepareAsync()
+	{
+		return CompletableFuture.allOf(factoriesByTable.values().stream()
+			.map(factory -> factory.prepareAsync().toCompletableFuture())
+			.toArray(CompletableFuture[]::new));
+	}
+
 	public BoundStatement read(String tableName, Identifier id)
 	{
 		return get(tableName).read(id);
@@ -45,19 +57,56 @@ public class CachingStatementFactory<T extends Identifiable>
 	 */
 	public BoundStatement readAll(String tableName, int limit, String cursor, Object... parameters)
 	{
-		BoundStatement stmt = get(tableName).readAll(parameters);
+		return withPaging(get(tableName).readAll(parameters), limit, cursor);
+	}
 
-		if (limit > 0)
-		{
-			stmt = stmt.setPageSize(limit);
-		}
+	/**
+	 * Read the header (key columns, type, metadata and timestamps) of a row without its serialized object.
+	 */
+	public BoundStatement readHeader(String tableName, Identifier id)
+	{
+		return get(tableName).readHeader(id);
+	}
 
-		if (cursor != null)
-		{
-			stmt = stmt.setPagingState(Bytes.fromHexString(cursor));
-		}
+	/**
+	 * Read the headers of many rows, with paging support as for readAll().
+	 */
+	public BoundStatement readAllHeaders(String tableName, int limit, String cursor, Object... parameters)
+	{
+		return withPaging(get(tableName).readAllHeaders(parameters), limit, cursor);
+	}
 
-		return stmt;
+	/**
+	 * Read many rows of one partition with a single query. The page size is set to the number of
+	 * identifiers, so every row is usually returned in the first page.
+	 * 
+	 * @param tableName the name of the table to read from.
+	 * @param ids complete identifiers that differ only in their last (clustering key) component.
+	 * @return a BoundStatement ready to be executed against the Cassandra session.
+	 */
+	public BoundStatement readIn(String tableName, List<Identifier> ids)
+	{
+		return get(tableName).readIn(ids).setPageSize(ids.size());
+	}
+
+	/**
+	 * Read the rows of a range of partition key tokens, with paging support as for readAll().
+	 * 
+	 * @param tableName the name of the table to read from.
+	 * @param startToken the exclusive start of the token range.
+	 * @param endToken the inclusive end of the token range.
+	 * @param limit the page size. If zero or negative, the driver's configured page size is used.
+	 * @param cursor the paging state to use for the query. If null, the query will start from the beginning of the range.
+	 * @return a BoundStatement ready to be executed against the Cassandra session.
+	 */
+	public BoundStatement scan(String tableName, long startToken, long endToken, int limit, String cursor)
+	{
+		return withPaging(get(tableName).scan(startToken, endToken), limit, cursor);
+	}
+
+	public BoundStatement readViewKeys(String tableName, Identifier id)
+	{
+		return get(tableName).readViewKeys(id);
 	}
 
 	public BoundStatement delete(String tableName, Identifier id)
@@ -70,21 +119,68 @@ public class CachingStatementFactory<T extends Identifiable>
 		return get(tableName).create(entity);
 	}
 
+	public BoundStatement create(String tableName, T entity, long ttl)
+	{
+		return get(tableName).create(entity, ttl);
+	}
+
 	public BoundStatement update(String tableName, T entity)
 	{
 		return get(tableName).update(entity);
 	}
 
+	public BoundStatement update(String tableName, T entity, long ttl)
+	{
+		return get(tableName).update(entity, ttl);
+	}
+
+	public BoundStatement upsert(String tableName, T entity)
+	{
+		return get(tableName).upsert(entity);
+	}
+
+	public BoundStatement upsert(String tableName, T entity, long ttl)
+	{
+		return get(tableName).upsert(entity, ttl);
+	}
+
 	public BoundStatement exists(String tableName, Identifier id)
 	{
 		return get(tableName).exists(id);
 	}
 
+	/**
+	 * Probe which of many rows of one partition exist with a single, key-only query.
+	 * 
+	 * @param tableName the name of the table to probe.
+	 * @param ids complete identifiers that differ only in their last (clustering key) component.
+	 * @return a BoundStatement returning the last key column of each existing row.
+	 */
+	public BoundStatement existsIn(String tableName, List<Identifier> ids)
+	{
+		return get(tableName).existsIn(ids).setPageSize(ids.size());
+	}
+
 	public boolean isViewUnique(String tableName)
 	{
 		return keysByTable.get(tableName).isUnique();
 	}
 
+	private BoundStatement withPaging(BoundStatement stmt, int limit, String cursor)
+	{
+		if (limit > 0)
+		{
+			stmt = stmt.setPageSize(limit);
+		}
+
+		if (cursor != null)
+		{
+			stmt = stmt.setPagingState(Bytes.fromHexString(cursor));
+		}
+
+		return stmt;
+	}
+
 	private void put(String tableName, CqlStatementFactory<T> factory)
 	{
 		factoriesByTable.put(tableName, factory);
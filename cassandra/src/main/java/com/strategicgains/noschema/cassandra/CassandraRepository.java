@@ -1,33 +1,59 @@
 package com.strategicgains.noschema.cassandra;
 
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
 import com.datastax.oss.protocol.internal.util.Bytes;
+import com.strategicgains.noschema.AsyncRepository;
 import com.strategicgains.noschema.EntityObserver;
 import com.strategicgains.noschema.Identifiable;
 import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.IdentifierCodec;
 import com.strategicgains.noschema.Repository;
 import com.strategicgains.noschema.cassandra.document.CassandraDocumentFactory;
 import com.strategicgains.noschema.cassandra.document.DocumentSchemaProvider;
+import com.strategicgains.noschema.cassandra.document.DocumentSchemaProvider.Columns;
+import com.strategicgains.noschema.cassandra.key.KeyDefinition;
 import com.strategicgains.noschema.cassandra.schema.SchemaWriter;
 import com.strategicgains.noschema.cassandra.unitofwork.CassandraUnitOfWork;
 import com.strategicgains.noschema.cassandra.unitofwork.CommitType;
+import com.strategicgains.noschema.cassandra.unitofwork.PartitionedBatchCommitStrategy;
 import com.strategicgains.noschema.document.Document;
 import com.strategicgains.noschema.document.ObjectCodec;
 import com.strategicgains.noschema.document.DocumentFilter;
-import com.strategicgains.noschema.exception.DuplicateItemException;
+import com.strategicgains.noschema.exception.ConfigurationException;
 import com.strategicgains.noschema.exception.InvalidIdentifierException;
 import com.strategicgains.noschema.exception.ItemNotFoundException;
 import com.strategicgains.noschema.exception.KeyDefinitionException;
@@ -48,11 +74,19 @@ import com.strategicgains.noschema.unitofwork.UnitOfWorkCommitException;
  * Also, the repository can create and drop the underlying tables necessary to
  * store the entities.
  * 
+ * Every operation is also available without blocking (see AsyncRepository), the
+ * blocking methods simply wait on their asynchronous counterparts.
+ * 
  * T is the type of entity to be stored in the database.
  */
 public class CassandraRepository<T extends Identifiable>
-implements Repository<T>, SchemaWriter<T>
+implements Repository<T>, AsyncRepository<T>, SchemaWriter<T>
 {
+	// The maximum number of identifiers read from one partition by a single query in readIn().
+	public static final int MAX_READ_IN_GROUP_SIZE = 100;
+	// The default number of rows decoded by one task when a decode executor is configured.
+	public static final int DEFAULT_DECODE_CHUNK_SIZE = 64;
+
 	// The session used to connect to the Cassandra cluster.
 	private CqlSession session;
 	// The primary table and its views.
@@ -67,6 +101,23 @@ implements Repository<T>, SchemaWriter<T>
 	private List<DocumentFilter> documentFilters = new ArrayList<>();
 	// The EntityObservers used to observe the lifecycle of entities.
 	private List<EntityObserver<T>> entityObservers = new ArrayList<>();
+	// The maximum number of requests in flight for bulk operations.
+	private int maxBulkConcurrency = PartitionedBatchCommitStrategy.DEFAULT_MAX_CONCURRENCY;
+	// The page size and maximum pages held in memory for stream() and iterator().
+	private int streamPageSize = 0;
+	private int streamMaxPages = PagingIterator.DEFAULT_MAX_PAGES;
+	// The executor on which rows are decoded and the rows per decoding task. If null, rows are decoded on the driver's I/O threads.
+	private Executor decodeExecutor;
+	private int decodeChunkSize = DEFAULT_DECODE_CHUNK_SIZE;
+	// An optional cache of stored documents, outside the heap, consulted by read().
+	private OffHeapDocumentCache documentCache;
+	// An optional record of identifiers recently found not to exist, consulted by read(), exists() and readIn().
+	private NegativeCache negativeCache;
+	// The reads in flight by view and identifier, shared by concurrent callers when coalescing is enabled.
+	private boolean coalesceReads;
+	private final Map<ReadKey, CompletableFuture<Document>> readsInFlight = new ConcurrentHashMap<>();
+	// Completes once the statements of the table and its views are prepared. Replaced on the next use if it failed.
+	private volatile CompletableFuture<Void> prepared;
 
 
 	protected CassandraRepository(CqlSession session, PrimaryTable table, ObjectCodec<T> codec)
@@ -149,6 +200,110 @@ implements Repository<T>, SchemaWriter<T>
 		return this;
 	}
 
+	/**
+	 * Set the maximum number of requests in flight at once during createAll(), upsertAll() and readIn().
+	 * 
+	 * @param maxConcurrency the maximum number of concurrent requests. Must be greater-than zero.
+	 * @return this repository.
+	 */
+	public CassandraRepository<T> withMaxBulkConcurrency(int maxConcurrency)
+	{
+		if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be greater than zero");
+		this.maxBulkConcurrency = maxConcurrency;
+		return this;
+	}
+
+	/**
+	 * Configure the paging of stream() and iterator().
+	 * 
+	 * @param pageSize the number of rows requested per page. Zero or negative uses the driver's configured page size.
+	 * @param maxPages the maximum number of pages held in memory at once, including pages being prefetched. Must be greater-than zero.
+	 * @return this repository.
+	 */
+	public CassandraRepository<T> withStreamPaging(int pageSize, int maxPages)
+	{
+		if (maxPages < 1) throw new IllegalArgumentException("maxPages must be greater than zero");
+		this.streamPageSize = pageSize;
+		this.streamMaxPages = maxPages;
+		return this;
+	}
+
+	/**
+	 * Decode rows on the given executor instead of the driver's I/O threads, for read(), readAll(),
+	 * readIn() and scan(). Large pages are split into chunks of DEFAULT_DECODE_CHUNK_SIZE rows that
+	 * are decoded concurrently, keeping the order of the rows.
+	 * 
+	 * @param executor the executor, e.g. a ForkJoinPool or a virtual thread per task executor. Null decodes on the I/O threads.
+	 * @return this repository.
+	 */
+	public CassandraRepository<T> withDecodeExecutor(Executor executor)
+	{
+		return withDecodeExecutor(executor, DEFAULT_DECODE_CHUNK_SIZE);
+	}
+
+	/**
+	 * Decode rows on the given executor, as for withDecodeExecutor(Executor), in chunks of the given size.
+	 * 
+	 * @param executor the executor. Null decodes on the I/O threads.
+	 * @param chunkSize the maximum number of rows decoded by one task. Must be greater-than zero.
+	 * @return this repository.
+	 */
+	public CassandraRepository<T> withDecodeExecutor(Executor executor, int chunkSize)
+	{
+		if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be greater than zero");
+		this.decodeExecutor = executor;
+		this.decodeChunkSize = chunkSize;
+		return this;
+	}
+
+	/**
+	 * Cache the documents read by read() outside the heap, as they are stored (before the read
+	 * filters are applied). Cached documents are decoded on every hit. Writes made through this
+	 * repository invalidate the cached documents of every table they change. Writes made by other
+	 * processes are not seen until the document is evicted or expires.
+	 * 
+	 * @param cache an OffHeapDocumentCache, which may be shared between repositories of different tables. Null disables caching.
+	 * @return this repository.
+	 */
+	public CassandraRepository<T> withDocumentCache(OffHeapDocumentCache cache)
+	{
+		this.documentCache = cache;
+		return this;
+	}
+
+	/**
+	 * Remember identifiers that read(), exists() and readIn() find not to exist, answering repeated
+	 * probes for them without a query until they expire. Writes made through this repository
+	 * invalidate the entries of every table they change. Rows created by other processes are not
+	 * seen until the entry expires.
+	 * 
+	 * @param cache a NegativeCache, which may be shared between repositories of different tables. Null disables it.
+	 * @return this repository.
+	 */
+	public CassandraRepository<T> withNegativeCache(NegativeCache cache)
+	{
+		this.negativeCache = cache;
+		return this;
+	}
+
+	/**
+	 * Share one query and one decode between concurrent read() calls for the same view and identifier.
+	 * A caller arriving while a read is in flight receives the result of that read instead of sending
+	 * its own query. The document read is shared, but each caller decodes its own entity from it, so
+	 * callers can modify their entities, and EntityObserver.afterRead() is called for each.
+	 * 
+	 * Reads in flight for identifiers changed by a commit through this repository are not shared
+	 * with callers arriving after the commit.
+	 * 
+	 * @param enabled true to coalesce concurrent reads.
+	 * @return this repository.
+	 */
+	public CassandraRepository<T> withReadCoalescing(boolean enabled)
+	{
+		this.coalesceReads = enabled;
+		return this;
+	}
+
 	public boolean hasDocumentFilters()
 	{
 		return documentFilters != null && !documentFilters.isEmpty();
@@ -171,22 +326,48 @@ implements Repository<T>, SchemaWriter<T>
 	@Override
 	public T create(T entity)
 	{
-		try
-		{
-			CassandraUnitOfWork uow = createUnitOfWork();
-			T created = create(entity, uow);
-			uow.commit();
-			return created;
-		}
-		catch (UnitOfWorkCommitException e)
-		{
-			handleException(e);
-		}
+		return join(createAsync(entity));
+	}
+
+	/**
+	 * Create a new entity, overriding the TTL configured on the primary table and its views for this call only.
+	 * Useful for expiring data, like sessions and tokens, that should age out via compaction.
+	 * 
+	 * @param entity The entity to be created.
+	 * @param ttl The time-to-live in seconds for every row written. Zero means the rows never expire.
+	 * @return The created entity.
+	 */
+	public T create(T entity, long ttl)
+	{
+		return join(createAsync(entity, ttl));
+	}
+
+	@Override
+	public CompletableFuture<T> createAsync(T entity)
+	{
+		CassandraUnitOfWork uow = createUnitOfWork();
+		T created = create(entity, uow);
+		return commit(uow).thenApply(v -> created);
+	}
 
-		return null;
+	public CompletableFuture<T> createAsync(T entity, long ttl)
+	{
+		CassandraUnitOfWork uow = createUnitOfWork();
+		T created = create(entity, ttl, uow);
+		return commit(uow).thenApply(v -> created);
 	}
 
 	public T create(T entity, CassandraUnitOfWork uow)
+	{
+		return create(entity, null, uow);
+	}
+
+	public T create(T entity, long ttl, CassandraUnitOfWork uow)
+	{
+		return create(entity, Long.valueOf(ttl), uow);
+	}
+
+	private T create(T entity, Long ttl, CassandraUnitOfWork uow)
 	{
 		entityObservers.forEach(o -> o.beforeCreate(entity));
 		final AtomicReference<byte[]> serialized = new AtomicReference<>();
@@ -201,7 +382,7 @@ implements Repository<T>, SchemaWriter<T>
 				d = asDocument(t.name(), entity);
 				primaryDocument.set(d);
 				serialized.set(d.getObject());
-				serializedId.set(d.getIdentifier().toString().getBytes());
+				serializedId.set(IdentifierCodec.encode(d.getIdentifier()));
 			}
 			else
 			{
@@ -215,16 +396,81 @@ implements Repository<T>, SchemaWriter<T>
 				}
 
 				d.setMetadata(primaryDocument.get().getMetadata());
+				recordViewIdentifier(primaryDocument.get(), t, d);
 			}
 
 			processOnWriteFilters(d);
-			uow.registerNew(t.name(), d);
+			registerNew(uow, t.name(), d, ttl);
 		});
 
 		entityObservers.forEach(o -> o.afterCreate(entity));
 		return entity;
 	}
 
+	/**
+	 * Create many entities at once. Each entity is serialized once and the rows for the
+	 * primary table, views and indexes are grouped by table and partition key into
+	 * UNLOGGED single-partition batches, which are executed with bounded concurrency
+	 * (see withMaxBulkConcurrency()).
+	 * 
+	 * Uniqueness is still enforced for unique views, but the entities are NOT created
+	 * atomically: on failure, some of the entities may have been written.
+	 *
+	 * @param entities The entities to be created.
+	 * @return The created entities.
+	 */
+	@Override
+	public List<T> createAll(Collection<T> entities)
+	{
+		return join(createAllAsync(entities));
+	}
+
+	@Override
+	public CompletableFuture<List<T>> createAllAsync(Collection<T> entities)
+	{
+		return writeAll(entities, this::create);
+	}
+
+	/**
+	 * Upsert many entities at once, grouping the writes into single-partition batches
+	 * the same as createAll(). The entities are NOT written atomically.
+	 *
+	 * @param entities The entities to be upserted.
+	 * @return The upserted entities.
+	 */
+	@Override
+	public List<T> upsertAll(Collection<T> entities)
+	{
+		return join(upsertAllAsync(entities));
+	}
+
+	@Override
+	public CompletableFuture<List<T>> upsertAllAsync(Collection<T> entities)
+	{
+		return writeAll(entities, this::upsert);
+	}
+
+	private CompletableFuture<List<T>> writeAll(Collection<T> entities, BiFunction<T, CassandraUnitOfWork, T> writer)
+	{
+		if (entities == null || entities.isEmpty()) return CompletableFuture.completedFuture(Collections.emptyList());
+
+		final List<BoundStatement> statements = Collections.synchronizedList(new ArrayList<>());
+		final List<CassandraUnitOfWork> uows = Collections.synchronizedList(new ArrayList<>());
+
+		return ConcurrencyLimiter.forEach(entities, maxBulkConcurrency, entity -> {
+				CassandraUnitOfWork uow = createUnitOfWork();
+				writer.apply(entity, uow);
+				uows.add(uow);
+				return uow.prepareStatements().thenAccept(statements::addAll);
+			})
+			.thenCompose(v -> new PartitionedBatchCommitStrategy(session, maxBulkConcurrency).commit(statements))
+			.whenComplete((v, t) -> uows.forEach(this::invalidateCached))
+			.<List<T>>thenApply(v -> new ArrayList<>(entities))
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
 	/**
 	 * This method is responsible for deleting an entity from the database.
 	 * It first identifies the entity by its Identifier, then registers it
@@ -237,43 +483,75 @@ implements Repository<T>, SchemaWriter<T>
 	@Override
 	public void delete(Identifier id)
 	{
-		try
-		{
-			CassandraUnitOfWork uow = createUnitOfWork();
-			delete(id, uow);
-			uow.commit();
-		}
-		catch (UnitOfWorkCommitException e)
-		{
-			handleException(e);
-		}
+		join(deleteAsync(id));
+	}
+
+	@Override
+	public CompletableFuture<Void> deleteAsync(Identifier id)
+	{
+		CassandraUnitOfWork uow = createUnitOfWork();
+		return whenPrepared(() -> registerDeleted(id, uow))
+			.thenCompose(v -> commit(uow))
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
 	}
 
+	/**
+	 * Delete an entity from the primary table and its views. When the primary table
+	 * stores its view keys (see PrimaryTable.withViewKeys()) and there are no entity
+	 * observers, the stale view and index rows are found with a key-only read instead
+	 * of reading and decoding the entire entity.
+	 * 
+	 * @param id The Identifier of the entity to be deleted.
+	 * @param uow the UnitOfWork in which to register the deletes.
+	 */
 	public void delete(Identifier id, CassandraUnitOfWork uow)
 	{
-		final T entity = read(id);
-		entityObservers.forEach(o -> o.beforeDelete(entity));
-		final AtomicReference<byte[]> serialized = new AtomicReference<>();
-		final AtomicReference<Document> primaryDocument = new AtomicReference<>();
+		join(registerDeleted(id, uow));
+	}
 
-		table.stream().forEach(t -> {
-			final Document d;
+	private CompletableFuture<Void> registerDeleted(Identifier id, CassandraUnitOfWork uow)
+	{
+		CompletableFuture<Map<String, Identifier>> stored = (table.hasViewKeys() && !hasEntityObservers()
+			? readViewIdentifiers(id)
+			: CompletableFuture.completedFuture(null));
 
-			if (serialized.get() == null)
+		return stored.thenCompose(ids -> {
+			if (ids != null)
 			{
-				d = asDocument(t.name(), entity);
-				primaryDocument.set(d);
-				serialized.set(d.getObject());
-			}
-			else
-			{
-				d = asDocument(t.name(), entity, serialized.get());
+				ids.forEach((name, viewId) -> uow.registerDeleted(name, asKeyDocument(viewId)));
+				return CompletableFuture.completedFuture(null);
 			}
 
-			documentFilters.forEach(o -> o.onWrite(d));
-			uow.registerDeleted(t.name(), d);
+			return readAsync(id).thenAccept(entity -> delete(entity, uow));
 		});
+	}
+
+	/**
+	 * Delete the given entity from the primary table and its views without reading
+	 * it from the database first. The view and index keys are computed from the entity
+	 * itself, so it must contain the values as they are currently stored.
+	 *
+	 * @param entity The entity to be deleted.
+	 * @throws UnitOfWorkCommitException If there is an error during the commit operation.
+	 */
+	public void delete(T entity)
+	{
+		join(deleteAsync(entity));
+	}
+
+	public CompletableFuture<Void> deleteAsync(T entity)
+	{
+		CassandraUnitOfWork uow = createUnitOfWork();
+		delete(entity, uow);
+		return commit(uow);
+	}
 
+	public void delete(T entity, CassandraUnitOfWork uow)
+	{
+		entityObservers.forEach(o -> o.beforeDelete(entity));
+		identifiersOf(entity).forEach((name, id) -> uow.registerDeleted(name, asKeyDocument(id)));
 		entityObservers.forEach(o -> o.afterDelete(entity));
 	}
 
@@ -304,10 +582,104 @@ implements Repository<T>, SchemaWriter<T>
 	 */
 	public boolean exists(String viewName, Identifier id)
 	{
+		return join(existsAsync(viewName, id));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> existsAsync(Identifier id)
+	{
+		return existsAsync(table.name(), id);
+	}
+
+	public CompletableFuture<Boolean> existsAsync(String viewName, Identifier id)
+	{
+		if (isKnownAbsent(viewName, id)) return CompletableFuture.completedFuture(Boolean.FALSE);
+
+		final long absences = absenceGeneration();
+
 		return session.executeAsync(statementFactory.exists(viewName, id))
-			.thenApply(r -> (Boolean.valueOf(r.one().getLong(0) > 0)))
+			.thenApply(r -> {
+				boolean exists = (r.one() != null);
+				if (!exists) markAbsent(viewName, id, absences);
+				return Boolean.valueOf(exists);
+			})
 			.toCompletableFuture()
-			.join();
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Determine which of the given identifiers exist in the primary table.
+	 * 
+	 * @param ids the identifiers to check.
+	 * @return the identifiers that exist, in the order given.
+	 */
+	public List<Identifier> existsIn(List<Identifier> ids)
+	{
+		return existsIn(table.name(), ids);
+	}
+
+	/**
+	 * Determine which of the given identifiers exist in a view, without reading the entities.
+	 * 
+	 * The probes project a single key column. Identifiers sharing a partition are probed
+	 * together with one "in" query, the same as readIn(), and no more than the bulk
+	 * concurrency (see withMaxBulkConcurrency()) queries are in flight at once.
+	 * 
+	 * @param viewName the name of the view to check.
+	 * @param ids the identifiers to check.
+	 * @return the identifiers that exist, in the order given.
+	 */
+	public List<Identifier> existsIn(String viewName, List<Identifier> ids)
+	{
+		return join(existsInAsync(viewName, ids));
+	}
+
+	public CompletableFuture<List<Identifier>> existsInAsync(String viewName, List<Identifier> ids)
+	{
+		return existsInAsync(viewName, ids, maxBulkConcurrency);
+	}
+
+	/**
+	 * @param viewName the name of the view to check.
+	 * @param ids the identifiers to check.
+	 * @param maxConcurrency the maximum number of queries in flight. Must be greater-than zero.
+	 * @return a CompletableFuture of the identifiers that exist, in the order given. Duplicates appear only once.
+	 */
+	public CompletableFuture<List<Identifier>> existsInAsync(String viewName, List<Identifier> ids, int maxConcurrency)
+	{
+		if (ids == null) return CompletableFuture.completedFuture(Collections.emptyList());
+
+		final Set<Identifier> distinct = new LinkedHashSet<>(ids);
+		final Set<Identifier> present = ConcurrentHashMap.newKeySet();
+
+		return whenPrepared(() -> ConcurrencyLimiter.forEach(groupByPartition(viewName, distinct), maxConcurrency, group -> probeGroup(viewName, group, present)))
+			.thenApply(v -> distinct.stream().filter(present::contains).toList())
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	private CompletionStage<Void> probeGroup(String viewName, List<Identifier> group, Set<Identifier> present)
+	{
+		if (group.size() == 1)
+		{
+			Identifier id = group.get(0);
+			return session.executeAsync(statementFactory.exists(viewName, id))
+				.thenAccept(rs -> {
+					if (rs.one() != null) present.add(id);
+				});
+		}
+
+		return session.executeAsync(statementFactory.existsIn(viewName, group))
+			.thenCompose(rs -> {
+				Map<ByteBuffer, Identifier> byLastComponent = byLastComponent(group, rs, 0);
+				return forEachRow(rs, row -> {
+					Identifier id = byLastComponent.get(row.getBytesUnsafe(0));
+					if (id != null) present.add(id);
+				});
+			});
 	}
 
 	/**
@@ -335,20 +707,119 @@ implements Repository<T>, SchemaWriter<T>
 	 */
 	public T read(String viewName, Identifier id)
 	{
-		try
-		{
-			T read = readRow(viewName, id)
-				.thenApply(row -> asEntity(viewName, row))
-				.join();
-			entityObservers.forEach(o -> o.afterRead(read));
-			return read;
-		}
-		catch (CompletionException e)
+		return join(readAsync(viewName, id));
+	}
+
+	@Override
+	public CompletableFuture<T> readAsync(Identifier id)
+	{
+		return readAsync(table.name(), id);
+	}
+
+	/**
+	 * Read an entity from a view without blocking. EntityObserver.afterRead() is called
+	 * on the thread that completes the query, normally a driver I/O thread.
+	 *
+	 * @param viewName The name of the view to read from.
+	 * @param id The Identifier of the entity to read.
+	 * @return a CompletableFuture of the entity, failing with ItemNotFoundException if it is not found.
+	 */
+	public CompletableFuture<T> readAsync(String viewName, Identifier id)
+	{
+		if (!coalesceReads) return decodeEntity(viewName, load(viewName, id));
+
+		final ReadKey key = new ReadKey(viewName, id);
+		final CompletableFuture<Document> read = new CompletableFuture<>();
+		final CompletableFuture<Document> inFlight = readsInFlight.putIfAbsent(key, read);
+
+		// Callers share the document, but each decodes its own entity, so no mutable state is shared between them.
+		if (inFlight != null) return decodeEntity(viewName, inFlight);
+
+		load(viewName, id).whenComplete((d, t) -> {
+			readsInFlight.remove(key, read);
+			if (t != null) read.completeExceptionally(t);
+			else read.complete(d);
+		});
+
+		return decodeEntity(viewName, read);
+	}
+
+	/**
+	 * Decode an entity from a Document that has been through the read filters, once it has been read.
+	 */
+	private CompletableFuture<T> decodeEntity(String viewName, CompletableFuture<Document> document)
+	{
+		return document.thenApply(d -> readFilteredEntity(viewName, d))
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Read a Document from the cache or the database and apply the read filters to it, on the decode
+	 * executor if one is configured.
+	 */
+	private CompletableFuture<Document> load(String viewName, Identifier id)
+	{
+		if (isKnownAbsent(viewName, id)) return CompletableFuture.failedFuture(new ItemNotFoundException(id.toString()));
+
+		// Taken before reading, so a result read before a concurrent write isn't cached after the write invalidates it.
+		final long generation = (documentCache != null ? documentCache.generation() : 0);
+		final long absences = absenceGeneration();
+
+		if (documentCache != null)
 		{
-			handleException(e);
+			Document cached = documentCache.get(viewName, id);
+
+			if (cached != null)
+			{
+				return decode(CompletableFuture.completedFuture(cached), d -> {
+					processOnReadFilters(d);
+					return d;
+				});
+			}
 		}
 
-		return null;
+		return decode(readRow(viewName, id), row -> {
+				Document d = factoriesByTable.get(viewName).asDocument(row);
+				if (documentCache != null) documentCache.put(viewName, id, d, generation);
+				processOnReadFilters(d);
+				return d;
+			})
+			.exceptionally(t -> {
+				StorageException e = asStorageException(t);
+				if (e instanceof ItemNotFoundException) markAbsent(viewName, id, absences);
+				throw e;
+			});
+	}
+
+	/**
+	 * Read an entity from a view only if it has been updated since the given instant, as for
+	 * If-Modified-Since. The entity's header is read first and the serialized object is only
+	 * transferred and decoded when the stored updated-at timestamp is after 'since'.
+	 * 
+	 * @param viewName The name of the view to read from.
+	 * @param id The Identifier of the entity to read.
+	 * @param since the last-modified time of the caller's copy. If null, the entity is always read.
+	 * @return the entity if it has changed, or empty if it is not newer than 'since'.
+	 * @throws ItemNotFoundException If the entity is not found.
+	 */
+	public Optional<T> read(String viewName, Identifier id, Instant since)
+	{
+		return join(readAsync(viewName, id, since));
+	}
+
+	public CompletableFuture<Optional<T>> readAsync(String viewName, Identifier id, Instant since)
+	{
+		if (since == null) return readAsync(viewName, id).thenApply(Optional::of);
+
+		return whenPrepared(() -> readMetadataAsync(viewName, id))
+			.thenCompose(header -> (header.getUpdatedAt().toInstant().isAfter(since)
+				? readAsync(viewName, id).thenApply(Optional::of)
+				: CompletableFuture.completedFuture(Optional.<T>empty())))
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
 	}
 
 	/**
@@ -377,26 +848,271 @@ implements Repository<T>, SchemaWriter<T>
 	 */
 	public PagedResponse<T> readAll(String viewName, int limit, String cursor, Object... parms)
 	{
-		final PagedResponse<T> response = new PagedResponse<>();
-		try
-		{
-			readRows(viewName, limit, cursor, parms)
-				.thenAccept(page -> {
-					response.cursor(page.cursor());
-					page.iterator().forEachRemaining(row -> {
-						T entity = asEntity(viewName, row);
-						entityObservers.forEach(o -> o.afterRead(entity));
-                        response.add(entity);
-                    });
-				})
-				.join();
-		}
-		catch (CompletionException e)
-		{
-			handleException(e);
-		}
+		return join(readAllAsync(viewName, limit, cursor, parms));
+	}
+
+	public CompletableFuture<PagedResponse<T>> readAllAsync(int limit, String cursor, Object... parms)
+	{
+		return readAllAsync(table.name(), limit, cursor, parms);
+	}
 
-		return response;
+	public CompletableFuture<PagedResponse<T>> readAllAsync(String viewName, int limit, String cursor, Object... parms)
+	{
+		return readRows(viewName, limit, cursor, parms)
+			.thenCompose(page -> decodeAll(page.rows(), row -> readEntity(viewName, row))
+				.thenApply(entities -> {
+					final PagedResponse<T> response = new PagedResponse<>();
+					response.cursor(page.cursor());
+					entities.forEach(response::add);
+					return response;
+				}))
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Retrieve many entities from a view as for readAll(), without decoding them. Each entity
+	 * is decoded on the first call to its LazyEntity.get(), which is also when EntityObserver.afterRead()
+	 * is called.
+	 * 
+	 * @param viewName the name of the view to query.
+	 * @param limit the maximum number of rows to return.
+	 * @param cursor a hex string representing the page state to start the query.
+	 * @param parms properties making up a partial key or identifier.
+	 * @return a page of LazyEntity handles.
+	 */
+	public PagedResponse<LazyEntity<T>> readAllLazy(String viewName, int limit, String cursor, Object... parms)
+	{
+		return join(readAllLazyAsync(viewName, limit, cursor, parms));
+	}
+
+	public CompletableFuture<PagedResponse<LazyEntity<T>>> readAllLazyAsync(String viewName, int limit, String cursor, Object... parms)
+	{
+		return readRows(viewName, limit, cursor, parms)
+			.thenApply(page -> {
+				final PagedResponse<LazyEntity<T>> response = new PagedResponse<>();
+				response.cursor(page.cursor());
+				page.iterator().forEachRemaining(row -> response.add(asLazyEntity(viewName, factoriesByTable.get(viewName).asDocument(row))));
+				return response;
+			})
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Read every entity referenced by an Index matching the given [partial] identifier, paging
+	 * through the index as for stream(). Each page of primary identifiers is read from the primary
+	 * table as for readIn(): grouped by partition and with no more than the bulk concurrency of
+	 * queries in flight. Index entries whose entity no longer exists are skipped.
+	 * Note that values for the partition key portion MUST be included.
+	 * 
+	 * @param indexName the name of the Index to query.
+	 * @param parms properties making up a partial key or identifier of the index.
+	 * @return the entities, in index order.
+	 */
+	public List<T> readByIndex(String indexName, Object... parms)
+	{
+		return join(readByIndexAsync(indexName, parms));
+	}
+
+	public CompletableFuture<List<T>> readByIndexAsync(String indexName, Object... parms)
+	{
+		return readIndexPages(indexName, null, new ArrayList<>(), parms);
+	}
+
+	private CompletableFuture<List<T>> readIndexPages(String indexName, String cursor, List<T> results, Object... parms)
+	{
+		return readAllByIndexAsync(indexName, streamPageSize, cursor, parms)
+			.thenCompose(page -> {
+				results.addAll(page.items());
+				return (page.hasCursor()
+					? readIndexPages(indexName, page.cursor(), results, parms)
+					: CompletableFuture.completedFuture(results));
+			});
+	}
+
+	/**
+	 * Read a page of an Index matching the given [partial] identifier and the entities it references,
+	 * as for readByIndex(). The cursor is that of the index page.
+	 * 
+	 * @param indexName the name of the Index to query.
+	 * @param limit the maximum number of index rows to read.
+	 * @param cursor a hex string representing the page state to start the query.
+	 * @param parms properties making up a partial key or identifier of the index.
+	 * @return a page of entities, in index order.
+	 */
+	public PagedResponse<T> readAllByIndex(String indexName, int limit, String cursor, Object... parms)
+	{
+		return join(readAllByIndexAsync(indexName, limit, cursor, parms));
+	}
+
+	public CompletableFuture<PagedResponse<T>> readAllByIndexAsync(String indexName, int limit, String cursor, Object... parms)
+	{
+		return whenPrepared(() -> {
+				// Inside the chain, so an unknown view or one that is not an index fails the future like any other error.
+				if (!tableOf(indexName).isIndex()) throw new ConfigurationException("Not an index: " + indexName);
+
+				return readRows(indexName, limit, cursor, parms);
+			})
+			.thenCompose(page -> {
+				List<Identifier> ids = new ArrayList<>();
+				page.iterator().forEachRemaining(row -> {
+					Identifier id = asPrimaryIdentifier(indexName, row);
+					if (id != null) ids.add(id);
+				});
+
+				return readInAsync(table.name(), ids, maxBulkConcurrency)
+					.thenApply(entities -> {
+						final PagedResponse<T> response = new PagedResponse<>();
+						response.cursor(page.cursor());
+						entities.items().forEach(response::add);
+						return response;
+					});
+			})
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Read the header of an entity from the primary table: its identifier, type, metadata and
+	 * timestamps, without transferring or decoding the serialized object.
+	 * 
+	 * @param id The Identifier of the entity.
+	 * @return a Document without an object.
+	 * @throws ItemNotFoundException If the entity is not found.
+	 */
+	public Document readMetadata(Identifier id)
+	{
+		return readMetadata(table.name(), id);
+	}
+
+	/**
+	 * Read the header of an entity from a view, as for readMetadata(Identifier).
+	 * EntityObservers are not notified, as no entity is read.
+	 * 
+	 * @param viewName The name of the view to read from.
+	 * @param id The Identifier of the entity.
+	 * @return a Document without an object.
+	 * @throws ItemNotFoundException If the entity is not found.
+	 */
+	public Document readMetadata(String viewName, Identifier id)
+	{
+		return join(readMetadataAsync(viewName, id));
+	}
+
+	public CompletableFuture<Document> readMetadataAsync(String viewName, Identifier id)
+	{
+		return session.executeAsync(statementFactory.readHeader(viewName, id))
+			.thenApply(rs -> {
+				Document header = asHeader(viewName, rs.one());
+				if (header == null) throw new ItemNotFoundException(id.toString());
+				return header;
+			})
+			.toCompletableFuture()
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Retrieve the headers of many entities from a view using the given [partial] identifier, as for readAll().
+	 * The serialized objects are not read.
+	 * 
+	 * @param viewName the name of the view to query.
+	 * @param limit the maximum number of rows to return.
+	 * @param cursor a hex string representing the page state to start the query.
+	 * @param parms properties making up a partial key or identifier.
+	 * @return a page of Documents without objects.
+	 */
+	public PagedResponse<Document> readAllMetadata(String viewName, int limit, String cursor, Object... parms)
+	{
+		return join(readAllMetadataAsync(viewName, limit, cursor, parms));
+	}
+
+	public CompletableFuture<PagedResponse<Document>> readAllMetadataAsync(String viewName, int limit, String cursor, Object... parms)
+	{
+		return session.executeAsync(statementFactory.readAllHeaders(viewName, limit, cursor, parms))
+			.thenApply(rs -> {
+				final PagedResponse<Document> response = new PagedResponse<>();
+				response.cursor(Bytes.toHexString(rs.getExecutionInfo().getPagingState()));
+				rs.currentPage().forEach(row -> response.add(asHeader(viewName, row)));
+				return response;
+			})
+			.toCompletableFuture()
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Lazily read every entity from a view matching the given [partial] identifier, paging automatically.
+	 * Note that values for the partition key portion MUST be included.
+	 * 
+	 * The next page is requested as soon as the previous one arrives, so it is normally
+	 * ready by the time the current page has been consumed. No more than the configured
+	 * number of pages are held in memory (see withStreamPaging()). Close the stream to
+	 * stop paging early.
+	 * 
+	 * @param viewName the name of the view to query.
+	 * @param parms properties making up a partial key or identifier.
+	 * @return an ordered, sequential Stream of entities.
+	 */
+	public Stream<T> stream(String viewName, Object... parms)
+	{
+		return iterator(viewName, parms).stream();
+	}
+
+	/**
+	 * Lazily read every entity from a view matching the given [partial] identifier, paging automatically.
+	 * The same as stream(), but as an iterator. Close the iterator to stop paging early.
+	 * 
+	 * @param viewName the name of the view to query.
+	 * @param parms properties making up a partial key or identifier.
+	 * @return a PagingIterator of entities.
+	 */
+	public PagingIterator<T> iterator(String viewName, Object... parms)
+	{
+		return new PagingIterator<>(executeReadAll(viewName, streamPageSize, null, parms), row -> readEntity(viewName, row), streamMaxPages);
+	}
+
+	/**
+	 * Publish every entity from a view matching the given [partial] identifier.
+	 * Note that values for the partition key portion MUST be included.
+	 * 
+	 * Pages are only requested while the subscriber has outstanding demand, each row is
+	 * decoded when it is published, and cancelling the subscription stops the paging. So
+	 * at most one page, of the size configured with withStreamPaging(), is held in memory.
+	 * The query is executed separately for each subscriber.
+	 * 
+	 * @param viewName the name of the view to query.
+	 * @param parms properties making up a partial key or identifier.
+	 * @return a Flow.Publisher of entities.
+	 */
+	public Flow.Publisher<T> publisher(String viewName, Object... parms)
+	{
+		return new PagingPublisher<>(() -> executeReadAll(viewName, streamPageSize, null, parms), row -> readEntity(viewName, row));
+	}
+
+	/**
+	 * Create a parallel scan of every entity in a view, split by partition key token range.
+	 * Configure the returned scan, then start it with forEach(). Pages are the size
+	 * configured with withStreamPaging().
+	 * 
+	 * Assumes the cluster uses the default Murmur3Partitioner.
+	 * 
+	 * @param viewName the name of the view to scan.
+	 * @return a TokenRangeScan of the view.
+	 */
+	public TokenRangeScan<T> scan(String viewName)
+	{
+		tableOf(viewName); // Fails fast on an unknown view.
+		TokenRangeScan<T> scan = new TokenRangeScan<>(session,
+			range -> statementFactory.scan(viewName, range.startToken(), range.endToken(), streamPageSize, range.cursor()),
+			row -> readEntity(viewName, row));
+		return (decodeExecutor != null ? scan.withExecutor(decodeExecutor) : scan);
 	}
 
 	/**
@@ -404,11 +1120,9 @@ implements Repository<T>, SchemaWriter<T>
 	 * It executes asynchronous queries to read the entities,
 	 * waits for all of them to complete, and then returns the results.
 	 * Entities that are not found are not included in the result.
-	 * 
-	 * Note: the order of the returned entities is not guaranteed.
 	 *
 	 * @param ids The Identifiers of the entities to read.
-	 * @return The list of read entities.
+	 * @return The list of read entities, in the order of their identifiers.
 	 */
 	@Override
 	public List<T> readIn(List<Identifier> ids)
@@ -425,52 +1139,194 @@ implements Repository<T>, SchemaWriter<T>
 	 * This method uses asynchronous queries to read the entities, which
 	 * means the client itself is the coordinator instead of issuing all
 	 * the queries to a single node. This is more efficient from the
-	 * server perspective, but it can load up the client.
-	 * 
-	 * Note: the order of the returned entities is not guaranteed.
+	 * server perspective, but it can load up the client. So no more than
+	 * the bulk concurrency (see withMaxBulkConcurrency()) queries are in
+	 * flight at once.
 	 *
 	 * @param viewName The name of the view to read from.
 	 * @param ids The Identifiers of the entities to read.
-	 * @return The list of read entities.
+	 * @return The list of read entities, in the order of their identifiers.
 	 */
 	public List<T> readIn(String viewName, List<Identifier> ids)
 	{
-		if (ids == null) return Collections.emptyList();
-
-		List<CompletableFuture<T>> futures = ids.stream().map(id -> 
-			session.executeAsync(statementFactory.read(viewName, id))
-				.thenApply(rs -> rs.one())
-				.thenApply(row -> {
-					T entity = asEntity(viewName, row);
-					entityObservers.forEach(o -> o.afterRead(entity));
-					return entity;
-				})
-				.toCompletableFuture()
-		).toList();
-
-		CompletableFuture<Void> allFutures = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-
-		CompletableFuture<List<T>> allCompletableFuture = allFutures.thenApply(v ->
-			futures.stream()
-				.map(CompletableFuture::join)
-				.toList()
-		);
+		return join(readInAsync(viewName, ids));
+	}
 
-		try
-		{
-			return allCompletableFuture.get().stream()
-				.filter(Objects::nonNull)
-				.toList();
-		}
-		catch (InterruptedException i)
+	/**
+	 * Read multiple entities from a view with at most maxConcurrency queries in flight at once,
+	 * reporting the identifiers that were not found.
+	 *
+	 * @param viewName The name of the view to read from.
+	 * @param ids The Identifiers of the entities to read.
+	 * @param maxConcurrency the maximum number of queries in flight. Must be greater-than zero.
+	 * @return a ReadInResponse of the entities found, in the order of their identifiers, and the identifiers not found.
+	 */
+	public ReadInResponse<T> readIn(String viewName, List<Identifier> ids, int maxConcurrency)
+	{
+		return join(readInAsync(viewName, ids, maxConcurrency));
+	}
+
+	@Override
+	public CompletableFuture<List<T>> readInAsync(List<Identifier> ids)
+	{
+		return readInAsync(table.name(), ids);
+	}
+
+	public CompletableFuture<List<T>> readInAsync(String viewName, List<Identifier> ids)
+	{
+		if (ids == null) return CompletableFuture.completedFuture(Collections.emptyList());
+
+		return readInAsync(viewName, ids, maxBulkConcurrency).thenApply(ReadInResponse::items);
+	}
+
+	/**
+	 * Read multiple entities from a view with at most maxConcurrency queries in flight at once.
+	 * 
+	 * When the view has a clustering key, identifiers that share a partition (and all but the
+	 * last clustering key column) are read together with a single "in" query on that partition,
+	 * in groups of up to MAX_READ_IN_GROUP_SIZE. Identifiers alone in their partition are read
+	 * individually, letting the driver route each query directly to a replica.
+	 * 
+	 * @param viewName The name of the view to read from.
+	 * @param ids The Identifiers of the entities to read.
+	 * @param maxConcurrency the maximum number of queries in flight. Must be greater-than zero.
+	 * @return a CompletableFuture of the entities found, in the order of their identifiers, and the identifiers not found.
+	 */
+	public CompletableFuture<ReadInResponse<T>> readInAsync(String viewName, List<Identifier> ids, int maxConcurrency)
+	{
+		if (ids == null) ids = Collections.emptyList();
+
+		return readInAsync(viewName, ids, maxConcurrency, (id, row) -> readEntity(viewName, row));
+	}
+
+	/**
+	 * Read multiple entities from a view as for readIn(), without decoding them. Each entity
+	 * is decoded on the first call to its LazyEntity.get(), which is also when EntityObserver.afterRead()
+	 * is called.
+	 * 
+	 * @param viewName The name of the view to read from.
+	 * @param ids The Identifiers of the entities to read.
+	 * @return a ReadInResponse of LazyEntity handles, in the order of their identifiers, and the identifiers not found.
+	 */
+	public ReadInResponse<LazyEntity<T>> readInLazy(String viewName, List<Identifier> ids)
+	{
+		return join(readInLazyAsync(viewName, ids));
+	}
+
+	public CompletableFuture<ReadInResponse<LazyEntity<T>>> readInLazyAsync(String viewName, List<Identifier> ids)
+	{
+		if (ids == null) ids = Collections.emptyList();
+
+		return readInAsync(viewName, ids, maxBulkConcurrency, (id, row) -> {
+			Document d = factoriesByTable.get(viewName).asDocument(row);
+			d.setIdentifier(id);
+			return asLazyEntity(viewName, d);
+		});
+	}
+
+	private <R extends Identifiable> CompletableFuture<ReadInResponse<R>> readInAsync(String viewName, List<Identifier> ids, int maxConcurrency, BiFunction<Identifier, Row, R> decoder)
+	{
+		final Set<Identifier> distinct = new LinkedHashSet<>(ids);
+		final Map<Identifier, R> found = new ConcurrentHashMap<>();
+		final List<Identifier> toRead = distinct.stream().filter(id -> !isKnownAbsent(viewName, id)).toList();
+		final long absences = absenceGeneration();
+
+		return whenPrepared(() -> ConcurrencyLimiter.forEach(groupByPartition(viewName, toRead), maxConcurrency, group -> readGroup(viewName, group, found, decoder)))
+			.thenApply(v -> {
+				ReadInResponse<R> response = new ReadInResponse<>(distinct, found);
+				response.missing().forEach(id -> markAbsent(viewName, id, absences));
+				return response;
+			})
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Group complete identifiers by everything but their last component, when it is a clustering key column.
+	 * Other identifiers are each in a group of their own.
+	 */
+	private List<List<Identifier>> groupByPartition(String viewName, Collection<Identifier> ids)
+	{
+		final KeyDefinition keys = tableOf(viewName).keys();
+		final List<List<Identifier>> groups = new ArrayList<>();
+
+		if (!keys.hasClusteringKey())
 		{
-			Thread.currentThread().interrupt();
-			throw new RuntimeException(i);
+			ids.forEach(id -> groups.add(List.of(id)));
+			return groups;
 		}
-		catch (ExecutionException e)
+
+		Map<List<Object>, List<Identifier>> byPrefix = new LinkedHashMap<>();
+
+		ids.forEach(id -> {
+			if (id.size() == keys.size()) byPrefix.computeIfAbsent(id.components().subList(0, id.size() - 1), k -> new ArrayList<>()).add(id);
+			else groups.add(List.of(id));
+		});
+
+		byPrefix.values().forEach(group -> {
+			for (int i = 0; i < group.size(); i += MAX_READ_IN_GROUP_SIZE)
+			{
+				groups.add(group.subList(i, Math.min(i + MAX_READ_IN_GROUP_SIZE, group.size())));
+			}
+		});
+
+		return groups;
+	}
+
+	private <R> CompletionStage<Void> readGroup(String viewName, List<Identifier> group, Map<Identifier, R> found, BiFunction<Identifier, Row, R> decoder)
+	{
+		if (group.size() == 1)
 		{
-			throw new RuntimeException(e);
+			Identifier id = group.get(0);
+			return decode(session.executeAsync(statementFactory.read(viewName, id)), rs -> {
+					Row row = rs.one();
+					R result = (row != null ? decoder.apply(id, row) : null);
+					if (result != null) found.put(id, result);
+					return null;
+				});
 		}
+
+		final int lastKey = tableOf(viewName).keys().size() - 1;
+
+		return session.executeAsync(statementFactory.readIn(viewName, group))
+			.thenCompose(rs -> {
+				Map<ByteBuffer, Identifier> byLastComponent = byLastComponent(group, rs, lastKey);
+				return forEachRow(rs, row -> {
+					Identifier id = byLastComponent.get(row.getBytesUnsafe(lastKey));
+					R result = (id != null ? decoder.apply(id, row) : null);
+					if (result != null) found.put(id, result);
+				});
+			});
+	}
+
+	/**
+	 * The requested identifiers by their last component, serialized with the codec of the given result column.
+	 * Matching rows on the serialized value needs no conversion of the column to the Java type that was requested.
+	 */
+	private Map<ByteBuffer, Identifier> byLastComponent(List<Identifier> group, AsyncResultSet rs, int column)
+	{
+		DataType type = rs.getColumnDefinitions().get(column).getType();
+		CodecRegistry codecs = session.getContext().getCodecRegistry();
+		ProtocolVersion version = session.getContext().getProtocolVersion();
+		Map<ByteBuffer, Identifier> ids = new HashMap<>();
+		group.forEach(id -> ids.put(codecs.codecFor(type, id.lastComponent()).encode(id.lastComponent(), version), id));
+		return ids;
+	}
+
+	/**
+	 * Apply the action to the rows of every page of the result set, on the decode executor if one is configured.
+	 * The server may end a page early, so the remaining pages are fetched even though the page size covers every row.
+	 */
+	private CompletionStage<Void> forEachRow(AsyncResultSet rs, Consumer<Row> action)
+	{
+		return decode(CompletableFuture.completedFuture(rs), page -> {
+				page.currentPage().forEach(action);
+				return page;
+			})
+			.thenCompose(page -> (page.hasMorePages()
+				? page.fetchNextPage().thenCompose(next -> forEachRow(next, action))
+				: CompletableFuture.completedFuture(null)));
 	}
 
 	/**
@@ -487,44 +1343,67 @@ implements Repository<T>, SchemaWriter<T>
 	@Override
 	public T update(T entity, T original)
 	{
-		try
-		{
-			CassandraUnitOfWork uow = createUnitOfWork();
-			T updated = update(entity, original, uow);
-			uow.commit();
-			return updated;
-		}
-		catch (UnitOfWorkCommitException e)
-		{
-			handleException(e);
-		}
+		return join(updateAsync(entity, original));
+	}
+
+	/**
+	 * Update an entity, overriding the TTL configured on the primary table and its views for this call only.
+	 * 
+	 * Cassandra applies an update's TTL only to the columns it writes. The created_at column and the row marker keep
+	 * the TTL of the original insert, so after that expires the row is still readable but has no creation time. Use
+	 * upsert, which rewrites every column including created_at, to give the whole row the new TTL.
+	 * 
+	 * @param entity The new entity data.
+	 * @param original The original entity data. If null, the method will read it from the database.
+	 * @param ttl The time-to-live in seconds for every row written. Zero means the rows never expire.
+	 * @return The updated entity.
+	 */
+	public T update(T entity, T original, long ttl)
+	{
+		return join(updateAsync(entity, original, ttl));
+	}
 
-		return null;
+	@Override
+	public CompletableFuture<T> updateAsync(T entity, T original)
+	{
+		return updateAsync(entity, original, null);
+	}
+
+	public CompletableFuture<T> updateAsync(T entity, T original, long ttl)
+	{
+		return updateAsync(entity, original, Long.valueOf(ttl));
+	}
+
+	private CompletableFuture<T> updateAsync(T entity, T original, Long ttl)
+	{
+		CassandraUnitOfWork uow = createUnitOfWork();
+		return whenPrepared(() -> originalIdentifiers(entity, original, uow))
+			.thenApply(originalIds -> update(entity, originalIds, ttl, uow))
+			.thenCompose(updated -> commit(uow).thenApply(v -> updated))
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
 	}
 
 	public T update(T entity, T original, CassandraUnitOfWork uow)
 	{
-		AtomicReference<Document> originalDocument = new AtomicReference<>();
-		final T originalEntity;
+		return update(entity, join(originalIdentifiers(entity, original, uow)), null, uow);
+	}
 
-		if (original != null)
-		{
-			originalDocument.set(asDocument(original));
-			originalEntity = original;
-		}
-		else
-		{
-			originalDocument.set(readAsDocument(entity.getIdentifier()).join());
-			uow.registerClean(table.name(), originalDocument.get());
-			originalEntity = asEntity(table.name(), originalDocument.get());
-		}
+	public T update(T entity, T original, long ttl, CassandraUnitOfWork uow)
+	{
+		return update(entity, join(originalIdentifiers(entity, original, uow)), Long.valueOf(ttl), uow);
+	}
 
-		final byte[] serialized = originalDocument.get().getObject();
+	private T update(T entity, Map<String, Identifier> originalIds, Long ttl, CassandraUnitOfWork uow)
+	{
 		final AtomicReference<Document> updatedDocument = new AtomicReference<>();
 
 		table.stream().forEach(t -> {
-			final Document updatedViewDocument = asDocument(t.name(), entity);
-			final Document originalViewDocument = asDocument(t.name(), originalEntity, serialized);
+			final Document updatedViewDocument = (t.isIndex() && updatedDocument.get() != null
+				? asIndexDocument(t.name(), entity, updatedDocument.get().getIdentifier())
+				: asDocument(t.name(), entity));
+			final Identifier originalId = originalIds.get(t.name());
 
 			if (updatedDocument.get() == null)
 			{
@@ -533,18 +1412,21 @@ implements Repository<T>, SchemaWriter<T>
 			else
 			{
 				updatedViewDocument.setMetadata(updatedDocument.get().getMetadata());
+				recordViewIdentifier(updatedDocument.get(), t, updatedViewDocument);
 			}
 
+			processOnWriteFilters(updatedViewDocument);
+
 			// If identifier changed, must perform delete and create.
-			if (!updatedViewDocument.getIdentifier().equals(originalViewDocument.getIdentifier()))
+			if (originalId != null && !updatedViewDocument.getIdentifier().equals(originalId))
 			{
-				uow.registerDeleted(t.name(), originalViewDocument);
-				uow.registerNew(t.name(), updatedViewDocument);
+				uow.registerDeleted(t.name(), asKeyDocument(originalId));
+				registerNew(uow, t.name(), updatedViewDocument, ttl);
 			}
 			// Otherwise it is simply an update.
 			else
 			{
-				uow.registerDirty(t.name(), updatedViewDocument);
+				registerDirty(uow, t.name(), updatedViewDocument, ttl);
 			}
 		});
 
@@ -563,22 +1445,47 @@ implements Repository<T>, SchemaWriter<T>
 	@Override
 	public T upsert(T entity)
 	{
-		try
-		{
-			CassandraUnitOfWork uow = createUnitOfWork();
-			T upserted = upsert(entity, uow);
-			uow.commit();
-			return upserted;
-		}
-		catch (UnitOfWorkCommitException e)
-		{
-			handleException(e);
-		}
+		return join(upsertAsync(entity));
+	}
+
+	/**
+	 * Upsert an entity, overriding the TTL configured on the primary table and its views for this call only.
+	 * 
+	 * @param entity The entity to be upserted.
+	 * @param ttl The time-to-live in seconds for every row written. Zero means the rows never expire.
+	 * @return The upserted entity.
+	 */
+	public T upsert(T entity, long ttl)
+	{
+		return join(upsertAsync(entity, ttl));
+	}
+
+	@Override
+	public CompletableFuture<T> upsertAsync(T entity)
+	{
+		CassandraUnitOfWork uow = createUnitOfWork();
+		T upserted = upsert(entity, uow);
+		return commit(uow).thenApply(v -> upserted);
+	}
 
-		return null;
+	public CompletableFuture<T> upsertAsync(T entity, long ttl)
+	{
+		CassandraUnitOfWork uow = createUnitOfWork();
+		T upserted = upsert(entity, ttl, uow);
+		return commit(uow).thenApply(v -> upserted);
 	}
 
 	public T upsert(T entity, CassandraUnitOfWork uow)
+	{
+		return upsert(entity, null, uow);
+	}
+
+	public T upsert(T entity, long ttl, CassandraUnitOfWork uow)
+	{
+		return upsert(entity, Long.valueOf(ttl), uow);
+	}
+
+	private T upsert(T entity, Long ttl, CassandraUnitOfWork uow)
 	{
 		final AtomicReference<byte[]> bson = new AtomicReference<>();
 		final AtomicReference<Document> updated = new AtomicReference<>();
@@ -594,10 +1501,14 @@ implements Repository<T>, SchemaWriter<T>
 			}
 			else
 			{
-				d = asDocument(view.name(), entity, bson.get());
+				d = (view.isIndex()
+					? asIndexDocument(view.name(), entity, updated.get().getIdentifier())
+					: asDocument(view.name(), entity, bson.get()));
+				recordViewIdentifier(updated.get(), view, d);
 			}
 
-			uow.registerDirty(view.name(), d);
+			processOnWriteFilters(d);
+			registerDirty(uow, view.name(), d, ttl);
 		});
 
 		return entity;
@@ -608,6 +1519,124 @@ implements Repository<T>, SchemaWriter<T>
 		return new CassandraUnitOfWork(session, statementFactory, unitOfWorkType);
 	}
 
+	/**
+	 * Register a new document using the table's TTL unless a TTL override is given.
+	 */
+	private void registerNew(CassandraUnitOfWork uow, String viewName, Document d, Long ttl)
+	{
+		if (ttl == null) uow.registerNew(viewName, d);
+		else uow.registerNew(viewName, d, ttl);
+	}
+
+	/**
+	 * Register a dirty document using the table's TTL unless a TTL override is given.
+	 */
+	private void registerDirty(CassandraUnitOfWork uow, String viewName, Document d, Long ttl)
+	{
+		if (ttl == null) uow.registerDirty(viewName, d);
+		else uow.registerDirty(viewName, d, ttl);
+	}
+
+	/**
+	 * The identifier of the entity in the given table, view or index.
+	 */
+	Identifier identifierOf(String viewName, T entity)
+	{
+		return tableOf(viewName).getIdentifier(entity);
+	}
+
+	private AbstractTable tableOf(String viewName)
+	{
+		return table.stream()
+			.filter(t -> t.name().equals(viewName))
+			.findFirst()
+			.orElseThrow(() -> new ConfigurationException("Unknown view: " + viewName));
+	}
+
+	/**
+	 * The identifiers of the entity in the primary table and each of its views and indexes.
+	 */
+	Map<String, Identifier> identifiersOf(T entity)
+	{
+		Map<String, Identifier> ids = new LinkedHashMap<>();
+		table.stream().forEach(t -> ids.put(t.name(), t.getIdentifier(entity)));
+		return ids;
+	}
+
+	/**
+	 * The identifiers of the original entity, if given. Otherwise, determine the currently-stored identifiers
+	 * for the primary table and each of its views and indexes, preferring the stored view keys over reading
+	 * the entire entity.
+	 */
+	private CompletableFuture<Map<String, Identifier>> originalIdentifiers(T entity, T original, CassandraUnitOfWork uow)
+	{
+		if (original != null) return CompletableFuture.completedFuture(identifiersOf(original));
+
+		Identifier id = entity.getIdentifier();
+		CompletableFuture<Map<String, Identifier>> stored = (table.hasViewKeys()
+			? readViewIdentifiers(id)
+			: CompletableFuture.completedFuture(null));
+
+		return stored.thenCompose(ids -> {
+			if (ids != null) return CompletableFuture.completedFuture(ids);
+
+			return readAsDocument(id).thenApply(originalDocument -> {
+				uow.registerClean(table.name(), originalDocument);
+				return identifiersOf(asEntity(table.name(), originalDocument));
+			});
+		});
+	}
+
+	/**
+	 * Perform a key-only read of the view keys stored in the primary row.
+	 * 
+	 * @return a CompletableFuture of the identifiers by table name, including the primary table. Or null if the row
+	 * was written before view keys were stored or is missing keys for any view or index.
+	 */
+	private CompletableFuture<Map<String, Identifier>> readViewIdentifiers(Identifier id)
+	{
+		return session.executeAsync(statementFactory.readViewKeys(table.name(), id))
+			.thenApply(rs -> rs.one())
+			.thenApply(row -> {
+				if (row == null) throw new ItemNotFoundException(id.toString());
+				if (row.isNull(Columns.VIEW_KEYS)) return null;
+
+				Map<String, Identifier> stored = CassandraDocumentFactory.asViewIdentifiers(row);
+				boolean isComplete = table.stream()
+					.skip(1)
+					.allMatch(t -> stored.containsKey(t.name()));
+
+				if (!isComplete) return null;
+
+				Map<String, Identifier> ids = new LinkedHashMap<>();
+				ids.put(table.name(), id);
+				ids.putAll(stored);
+				return ids;
+			})
+			.toCompletableFuture();
+	}
+
+	/**
+	 * Record the identifier of a view or index document in the primary document, if the table stores view keys.
+	 */
+	private void recordViewIdentifier(Document primary, AbstractTable view, Document d)
+	{
+		if (table.hasViewKeys())
+		{
+			primary.withViewIdentifier(view.name(), d.getIdentifier());
+		}
+	}
+
+	/**
+	 * A Document containing only an identifier, sufficient for registering a delete.
+	 */
+	private Document asKeyDocument(Identifier id)
+	{
+		Document d = new Document();
+		d.setIdentifier(id);
+		return d;
+	}
+
 	private CompletableFuture<Document> readAsDocument(Identifier id)
 	throws ItemNotFoundException
 	{
@@ -632,9 +1661,14 @@ implements Repository<T>, SchemaWriter<T>
 			.toCompletableFuture();
 	}
 
+	private CompletionStage<AsyncResultSet> executeReadAll(String viewName, int limit, String cursor, Object... parameters)
+	{
+		return session.executeAsync(statementFactory.readAll(viewName, limit, cursor, parameters));
+	}
+
 	private CompletableFuture<PagedRows> readRows(String viewName, int limit, String cursor, Object... parameters)
 	{
-		return session.executeAsync(statementFactory.readAll(viewName, limit, cursor, parameters))
+		return executeReadAll(viewName, limit, cursor, parameters)
 			.thenApply(rs -> {
 				PagedRows rows = new PagedRows();
 				rows.cursor(Bytes.toHexString(rs.getExecutionInfo().getPagingState()));
@@ -644,13 +1678,79 @@ implements Repository<T>, SchemaWriter<T>
 			.toCompletableFuture();
 	}
 
-	private T asEntity(String viewName, Row row)
+	private boolean isKnownAbsent(String viewName, Identifier id)
 	{
-		Document d = asDocument(viewName, row);
+		return (negativeCache != null && negativeCache.isAbsent(viewName, id));
+	}
 
-		if (d == null) return null;
+	/**
+	 * Taken before a probe and passed to markAbsent(), so an absence found before a concurrent create
+	 * is not remembered after the create invalidates it.
+	 */
+	private long absenceGeneration()
+	{
+		return (negativeCache != null ? negativeCache.generation() : 0);
+	}
+
+	private void markAbsent(String viewName, Identifier id, long generation)
+	{
+		if (negativeCache != null) negativeCache.markAbsent(viewName, id, generation);
+	}
 
-		return asEntity(viewName, d);
+	/**
+	 * Apply the decoder to the result of the stage, on the decode executor if one is configured.
+	 */
+	private <S, R> CompletableFuture<R> decode(CompletionStage<S> stage, Function<S, R> decoder)
+	{
+		return (decodeExecutor != null
+			? stage.thenApplyAsync(decoder, decodeExecutor)
+			: stage.thenApply(decoder))
+			.toCompletableFuture();
+	}
+
+	/**
+	 * Decode the rows of a page, in parallel chunks on the decode executor if one is configured.
+	 */
+	private <R> CompletableFuture<List<R>> decodeAll(List<Row> rows, Function<Row, R> decoder)
+	{
+		if (decodeExecutor != null) return ParallelDecoder.decode(rows, decodeExecutor, decodeChunkSize, decoder);
+
+		List<R> results = new ArrayList<>(rows.size());
+		rows.forEach(row -> results.add(decoder.apply(row)));
+		return CompletableFuture.completedFuture(results);
+	}
+
+	/**
+	 * Decode an entity from a row and notify the observers that it was read.
+	 */
+	private T readEntity(String viewName, Row row)
+	{
+		Document d = factoriesByTable.get(viewName).asDocument(row);
+		return (d != null ? readEntity(viewName, d) : null);
+	}
+
+	/**
+	 * Filter and decode an entity from a Document as read, notifying the observers that it was read.
+	 */
+	private T readEntity(String viewName, Document d)
+	{
+		processOnReadFilters(d);
+		return readFilteredEntity(viewName, d);
+	}
+
+	/**
+	 * Decode an entity from a Document that has already been through the read filters, notifying the observers that it was read.
+	 */
+	private T readFilteredEntity(String viewName, Document d)
+	{
+		T entity = asEntity(viewName, d);
+		if (entity != null) entityObservers.forEach(o -> o.afterRead(entity));
+		return entity;
+	}
+
+	private LazyEntity<T> asLazyEntity(String viewName, Document d)
+	{
+		return new LazyEntity<>(d, document -> readEntity(viewName, document));
 	}
 
 	private void processOnWriteFilters(Document d)
@@ -672,13 +1772,22 @@ implements Repository<T>, SchemaWriter<T>
 	private Document asDocument(String viewName, Row row)
 	{
 		Document d = factoriesByTable.get(viewName).asDocument(row);
-		processOnReadFilters(d);
+		if (d != null) processOnReadFilters(d);
 		return d;
 	}
 
+	private Document asHeader(String viewName, Row row)
+	{
+		Document d = factoriesByTable.get(viewName).asHeader(row);
+		if (d != null) processOnReadFilters(d);
+		return d;
+	}
+
+	/**
+	 * Decode an entity from a Document that has already been through the read filters.
+	 */
 	private T asEntity(String viewName, Document d)
 	{
-		processOnReadFilters(d);
 		return factoriesByTable.get(viewName).asPojo(d);
 	}
 
@@ -692,38 +1801,125 @@ implements Repository<T>, SchemaWriter<T>
 	private Document asDocument(String viewName, T entity)
 	throws InvalidIdentifierException, KeyDefinitionException
 	{
-		Document d = factoriesByTable.get(viewName).asDocument(entity);
-		processOnWriteFilters(d);
-		return d;
+		return factoriesByTable.get(viewName).asDocument(entity);
 	}
 
 	private Document asDocument(String viewName, T entity, byte[] bytes)
 	throws InvalidIdentifierException, KeyDefinitionException
 	{
-		Document d = factoriesByTable.get(viewName).asDocument(entity, bytes);
-		processOnWriteFilters(d);
-		return d;
+		return factoriesByTable.get(viewName).asDocument(entity, bytes);
+	}
+
+	/**
+	 * An Index row stores the primary table identifier, encoded with IdentifierCodec, instead of the serialized entity.
+	 */
+	private Document asIndexDocument(String indexName, T entity, Identifier primaryId)
+	throws InvalidIdentifierException, KeyDefinitionException
+	{
+		return asDocument(indexName, entity, IdentifierCodec.encode(primaryId));
+	}
+
+	/**
+	 * Decode the primary table identifier stored in an Index row.
+	 */
+	private Identifier asPrimaryIdentifier(String indexName, Row row)
+	{
+		Document d = asDocument(indexName, row);
+		return (d != null && d.hasObject() ? IdentifierCodec.decode(d.getObjectAsBuffer()) : null);
 	}
 
-	private void handleException(Exception e)
-	throws StorageException
+	/**
+	 * Run the step once the statements of the table and its views are prepared, without blocking. Steps
+	 * chained after a query run on driver threads, where the driver's blocking prepare() must not be
+	 * called, so chains that build statements in those steps start here. Once prepared, the step runs
+	 * immediately on the calling thread.
+	 */
+	private <R> CompletableFuture<R> whenPrepared(Supplier<? extends CompletionStage<R>> step)
 	{
-		if (e.getCause() instanceof DuplicateItemException duplicate)
+		CompletableFuture<Void> p = prepared;
+
+		if (p == null || p.isCompletedExceptionally())
 		{
-			throw duplicate;
+			p = statementFactory.prepareAsync();
+			prepared = p;
 		}
 
-		if (e.getCause() instanceof InvalidIdentifierException invalidId)
+		return p.thenCompose(v -> step.get());
+	}
+
+	/**
+	 * Commit the UnitOfWork without blocking, translating failures to StorageExceptions.
+	 */
+	private CompletableFuture<Void> commit(CassandraUnitOfWork uow)
+	{
+		return uow.commitAsync()
+			.whenComplete((v, t) -> invalidateCached(uow))
+			.exceptionally(t -> {
+				throw asStorageException(t);
+			});
+	}
+
+	/**
+	 * Discard the cached documents, absences and in-flight reads of everything changed by the UnitOfWork.
+	 */
+	private void invalidateCached(CassandraUnitOfWork uow)
+	{
+		if (documentCache != null) uow.forEachChange(documentCache::invalidate);
+		if (negativeCache != null) uow.forEachChange(negativeCache::invalidate);
+		if (coalesceReads) uow.forEachChange((view, id) -> readsInFlight.remove(new ReadKey(view, id)));
+	}
+
+	/**
+	 * Wait for the future to complete, throwing its StorageException (or subclass) on failure.
+	 */
+	private static <R> R join(CompletableFuture<R> future)
+	{
+		try
+		{
+			return future.join();
+		}
+		catch (CompletionException e)
+		{
+			throw asStorageException(e);
+		}
+	}
+
+	/**
+	 * Unwrap the failure of a future, reporting DuplicateItemException, InvalidIdentifierException and
+	 * ItemNotFoundException as themselves, even when thrown from within a UnitOfWork commit,
+	 * and anything else as a StorageException.
+	 */
+	static StorageException asStorageException(Throwable t)
+	{
+		Throwable cause = unwrap(t);
+
+		if (cause instanceof UnitOfWorkCommitException && cause.getCause() != null)
 		{
-			throw invalidId;
+			cause = unwrap(cause.getCause());
 		}
 
-		if (e.getCause() instanceof ItemNotFoundException notFound)
+		if (cause instanceof StorageException storage)
 		{
-			throw notFound;
+			return storage;
 		}
 
-		throw new StorageException(e.getCause());
+		return new StorageException(cause);
+	}
+
+	private static Throwable unwrap(Throwable t)
+	{
+		Throwable cause = t;
+
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null)
+		{
+			cause = cause.getCause();
+		}
+
+		return cause;
+	}
+
+	private record ReadKey(String view, Identifier id)
+	{
 	}
 
 	private class PagedRows
@@ -750,5 +1946,12 @@ implements Repository<T>, SchemaWriter<T>
         {
 			return currentPage.iterator();
 		}
+
+		List<Row> rows()
+		{
+			List<Row> rows = new ArrayList<>();
+			currentPage.forEach(rows::add);
+			return rows;
+		}
 	}
 }
@@ -0,0 +1,103 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs an asynchronous action for each item of a collection, keeping no more than a given number
+ * of actions in flight at once. Used to avoid flooding the driver's request queue on bulk operations.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public final class ConcurrencyLimiter
+{
+	private ConcurrencyLimiter()
+	{
+		// prevents instantiation.
+	}
+
+	/**
+	 * Apply the action to each item, with at most maxConcurrency actions outstanding.
+	 * The returned future fails with the first failure encountered, after which no more actions are started.
+	 *
+	 * @param items the items to process.
+	 * @param maxConcurrency the maximum number of actions in flight. Must be greater-than zero.
+	 * @param action the asynchronous action to apply to each item.
+	 * @return a CompletableFuture that completes when all the actions have completed.
+	 */
+	public static <E> CompletableFuture<Void> forEach(Collection<E> items, int maxConcurrency, Function<E, ? extends CompletionStage<?>> action)
+	{
+		if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be greater than zero");
+
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		int workers = Math.min(maxConcurrency, items.size());
+
+		if (workers == 0)
+		{
+			result.complete(null);
+			return result;
+		}
+
+		Iterator<E> iterator = items.iterator();
+		AtomicInteger remaining = new AtomicInteger(workers);
+
+		for (int i = 0; i < workers; i++)
+		{
+			next(iterator, action, result, remaining);
+		}
+
+		return result;
+	}
+
+	private static <E> void next(Iterator<E> iterator, Function<E, ? extends CompletionStage<?>> action, CompletableFuture<Void> result, AtomicInteger remaining)
+	{
+		while (true)
+		{
+			E item;
+
+			synchronized (iterator)
+			{
+				if (result.isDone() || !iterator.hasNext())
+				{
+					if (remaining.decrementAndGet() == 0) result.complete(null);
+					return;
+				}
+
+				item = iterator.next();
+			}
+
+			CompletableFuture<?> future;
+
+			try
+			{
+				future = action.apply(item).toCompletableFuture();
+			}
+			catch (RuntimeException e)
+			{
+				result.completeExceptionally(e);
+				return;
+			}
+
+			// Loop on already-completed actions instead of recursing, to keep the stack shallow.
+			if (!future.isDone())
+			{
+				future.whenComplete((r, t) -> {
+					if (t != null) result.completeExceptionally(t);
+					else next(iterator, action, result, remaining);
+				});
+				return;
+			}
+
+			if (future.isCompletedExceptionally())
+			{
+				future.whenComplete((r, t) -> result.completeExceptionally(t));
+				return;
+			}
+		}
+	}
+}
@@ -1,15 +1,76 @@
 package com.strategicgains.noschema.cassandra;
 
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.strategicgains.noschema.Identifier;
 
 public interface CqlStatementFactory<T>
 {
+	/**
+	 * Prepare the statements of the table without blocking, completing once they are cached. Statements
+	 * not yet prepared are otherwise prepared on first use with the driver's blocking API, which must not
+	 * be called from driver threads.
+	 */
+	CompletionStage<Void> prepareAsync();
+
+	/**
+	 * Create an insert statement that applies the table's configured TTL.
+	 */
 	BoundStatement create(T entity);
+
+	/**
+	 * Create an insert statement that applies the given TTL (in seconds) instead of the table's. Zero means no expiration.
+	 */
+	BoundStatement create(T entity, long ttl);
 	BoundStatement delete(Identifier id);
+
+	/**
+	 * Create a key-only read that returns a row if the identifier exists.
+	 */
 	BoundStatement exists(Identifier id);
 	BoundStatement update(T entity);
+
+	/**
+	 * Create an update statement that applies the given TTL (in seconds) instead of the table's. Zero means no expiration.
+	 * The TTL applies only to the columns written; created_at and the row marker keep the TTL of the original insert.
+	 */
+	BoundStatement update(T entity, long ttl);
 	BoundStatement upsert(T entity);
+	BoundStatement upsert(T entity, long ttl);
 	BoundStatement read(Identifier id);
 	BoundStatement readAll(Object... parameters);
+
+	/**
+	 * Create a read of the key columns, type, metadata and timestamps of a row, without the serialized object.
+	 */
+	BoundStatement readHeader(Identifier id);
+
+	/**
+	 * Create a read as for readAll(), selecting only the columns of readHeader().
+	 */
+	BoundStatement readAllHeaders(Object... parameters);
+
+	/**
+	 * Create a read of many rows in one partition. The identifiers must be complete and
+	 * differ only in their last (clustering key) component.
+	 */
+	BoundStatement readIn(List<Identifier> ids);
+
+	/**
+	 * Create a key-only probe for which of many rows in one partition exist, returning the last key
+	 * column of each existing row. The identifiers must be as for readIn().
+	 */
+	BoundStatement existsIn(List<Identifier> ids);
+
+	/**
+	 * Create a read of every row whose partition key token is greater-than startToken and less-than or equal to endToken.
+	 */
+	BoundStatement scan(long startToken, long endToken);
+
+	/**
+	 * Create a key-only read of the view and index identifiers stored in a primary table row.
+	 */
+	BoundStatement readViewKeys(Identifier id);
 }
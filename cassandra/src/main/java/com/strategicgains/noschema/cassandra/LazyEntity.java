@@ -0,0 +1,97 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.strategicgains.noschema.Identifiable;
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.document.Document;
+
+/**
+ * A handle to an entity that has been read but not yet decoded. The identifier, type, metadata
+ * and timestamps are available from the stored Document without decoding it. The DocumentFilters
+ * and ObjectCodec are only run on the first call to get(), whose result is kept for later calls.
+ * 
+ * Until get() is called, getMetadata() returns the metadata as stored, before any DocumentFilter
+ * has been applied.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class LazyEntity<T>
+implements Identifiable
+{
+	private final Document document;
+	private final Function<Document, T> decoder;
+	private volatile T entity;
+
+	/**
+	 * @param document the Document as read from the database.
+	 * @param decoder filters and decodes the Document into an entity.
+	 */
+	LazyEntity(Document document, Function<Document, T> decoder)
+	{
+		super();
+		this.document = Objects.requireNonNull(document);
+		this.decoder = Objects.requireNonNull(decoder);
+	}
+
+	@Override
+	public Identifier getIdentifier()
+	{
+		return document.getIdentifier();
+	}
+
+	public String getType()
+	{
+		return document.getType();
+	}
+
+	public Map<String, String> getMetadata()
+	{
+		return document.getMetadata();
+	}
+
+	public Date getCreatedAt()
+	{
+		return document.getCreatedAt();
+	}
+
+	public Date getUpdatedAt()
+	{
+		return document.getUpdatedAt();
+	}
+
+	public boolean isDecoded()
+	{
+		return (entity != null);
+	}
+
+	/**
+	 * Decode the entity on the first call, returning the same instance thereafter.
+	 * 
+	 * @return the entity.
+	 */
+	public T get()
+	{
+		T result = entity;
+
+		if (result == null)
+		{
+			synchronized (this)
+			{
+				result = entity;
+
+				if (result == null)
+				{
+					result = decoder.apply(document);
+					entity = result;
+				}
+			}
+		}
+
+		return result;
+	}
+}
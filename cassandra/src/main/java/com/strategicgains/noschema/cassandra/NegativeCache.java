@@ -0,0 +1,112 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strategicgains.noschema.Identifier;
+
+/**
+ * A bounded, short-lived record of identifiers recently found not to exist, per table, so repeated
+ * probes for them don't each cost a round trip. Entries expire a fixed time after they are recorded,
+ * which bounds how long a row created by another process can go unseen.
+ *
+ * A probe that raced a create may only find the row missing after the create has invalidated it.
+ * To avoid remembering the absence then, take generation() before probing and pass it to markAbsent().
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class NegativeCache
+{
+	private final Cache<CacheKey, Boolean> cache;
+	// The number of invalidations, incremented before the entries are discarded.
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @param maximumSize the maximum number of identifiers to remember.
+	 * @param expireAfterWrite how long an identifier is remembered as absent.
+	 */
+	public NegativeCache(long maximumSize, Duration expireAfterWrite)
+	{
+		super();
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(Objects.requireNonNull(expireAfterWrite))
+			.executor(Runnable::run)
+			.recordStats()
+			.build();
+	}
+
+	/**
+	 * @return true if the identifier was recently found not to exist in the table.
+	 */
+	public boolean isAbsent(String table, Identifier id)
+	{
+		return (cache.getIfPresent(new CacheKey(table, id)) != null);
+	}
+
+	public void markAbsent(String table, Identifier id)
+	{
+		cache.put(new CacheKey(table, id), Boolean.TRUE);
+	}
+
+	/**
+	 * Remember the identifier as absent, unless an identifier has been invalidated since generation()
+	 * returned the given value.
+	 */
+	public void markAbsent(String table, Identifier id, long generation)
+	{
+		if (generation != this.generation.get()) return;
+
+		CacheKey key = new CacheKey(table, id);
+		cache.put(key, Boolean.TRUE);
+
+		// An invalidation between the check and the put may have run before the put, so check again.
+		if (generation != this.generation.get()) cache.invalidate(key);
+	}
+
+	public void invalidate(String table, Identifier id)
+	{
+		generation.incrementAndGet();
+		cache.invalidate(new CacheKey(table, id));
+	}
+
+	public void invalidateAll()
+	{
+		generation.incrementAndGet();
+		cache.invalidateAll();
+	}
+
+	/**
+	 * @return the number of invalidations so far, to pass to markAbsent() when recording the result of a probe.
+	 */
+	public long generation()
+	{
+		return generation.get();
+	}
+
+	public long hitCount()
+	{
+		return cache.stats().hitCount();
+	}
+
+	public long missCount()
+	{
+		return cache.stats().missCount();
+	}
+
+	/**
+	 * The approximate number of identifiers remembered.
+	 */
+	public long size()
+	{
+		return cache.estimatedSize();
+	}
+
+	private record CacheKey(String table, Identifier id)
+	{
+	}
+}
@@ -0,0 +1,473 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.IdentifierCodec;
+import com.strategicgains.noschema.document.Document;
+
+/**
+ * A cache of Documents, as stored in the database (i.e. after the write filters, so possibly compressed),
+ * held outside the Java heap. Documents are keyed by table name and the binary encoding of their Identifier
+ * and written into slabs of direct memory. The cache holds at most maximumBytes of documents.
+ *
+ * Slabs are filled in turn. When the cache is full, the oldest slab is evicted in its entirety and
+ * reused, so eviction is first-in, first-out by bytes rather than per entry. Documents larger than a
+ * slab are not cached. Replacing or invalidating a document leaves its old bytes in place until its
+ * slab is evicted. Optionally, documents also expire a fixed time after they are cached, which bounds
+ * how long a write made by another process can go unseen.
+ *
+ * A document read from the database before a concurrent write may only arrive after that write has
+ * invalidated it. To avoid caching it then, take generation() before reading and pass it to put().
+ *
+ * The index of the cache is on the heap, at roughly 100 bytes per entry plus the encoded identifier.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class OffHeapDocumentCache
+{
+	public static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+
+	private static final long NULL_DATE = Long.MIN_VALUE;
+
+	private final int slabSize;
+	private final int maxSlabs;
+	// Zero if documents never expire.
+	private final long expireAfterWriteNanos;
+	private final ArrayDeque<Slab> slabs = new ArrayDeque<>();
+	private final Map<Key, Location> index = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	// The number of invalidations, changed while holding the write lock.
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @param maximumBytes the maximum number of bytes of off-heap memory to use.
+	 */
+	public OffHeapDocumentCache(long maximumBytes)
+	{
+		this(maximumBytes, DEFAULT_SLAB_SIZE);
+	}
+
+	/**
+	 * @param maximumBytes the maximum number of bytes of off-heap memory to use. At least one slab is always allocated.
+	 * @param slabSize the size of each slab of memory, which is also the size of the largest cacheable document.
+	 */
+	public OffHeapDocumentCache(long maximumBytes, int slabSize)
+	{
+		this(maximumBytes, slabSize, null);
+	}
+
+	/**
+	 * @param maximumBytes the maximum number of bytes of off-heap memory to use. At least one slab is always allocated.
+	 * @param slabSize the size of each slab of memory, which is also the size of the largest cacheable document.
+	 * @param expireAfterWrite how long a document stays cached after it is put. Null if documents never expire.
+	 */
+	public OffHeapDocumentCache(long maximumBytes, int slabSize, Duration expireAfterWrite)
+	{
+		super();
+		if (maximumBytes < 1) throw new IllegalArgumentException("maximumBytes must be greater than zero");
+		if (slabSize < 1) throw new IllegalArgumentException("slabSize must be greater than zero");
+		if (expireAfterWrite != null && (expireAfterWrite.isNegative() || expireAfterWrite.isZero())) throw new IllegalArgumentException("expireAfterWrite must be greater than zero");
+		this.slabSize = slabSize;
+		this.maxSlabs = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maximumBytes / slabSize));
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : 0);
+	}
+
+	/**
+	 * @return a new Document from the cached copy, or null if it is not cached.
+	 */
+	public Document get(String table, Identifier id)
+	{
+		Key key = new Key(table, IdentifierCodec.encode(id));
+		byte[] bytes;
+		lock.readLock().lock();
+
+		try
+		{
+			Location location = index.get(key);
+
+			if (location == null || isExpired(location))
+			{
+				misses.increment();
+				return null;
+			}
+
+			bytes = new byte[location.length()];
+			location.slab().buffer.get(location.offset(), bytes);
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+
+		hits.increment();
+		return decode(bytes);
+	}
+
+	/**
+	 * Copy the document into the cache, replacing any previous copy.
+	 */
+	public void put(String table, Identifier id, Document document)
+	{
+		Key key = new Key(table, IdentifierCodec.encode(id));
+		byte[] bytes = encode(document);
+		lock.writeLock().lock();
+
+		try
+		{
+			store(key, bytes);
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Copy the document into the cache, replacing any previous copy, unless a document has been invalidated
+	 * since generation() returned the given value.
+	 *
+	 * @return true if the document was cached.
+	 */
+	public boolean put(String table, Identifier id, Document document, long generation)
+	{
+		Key key = new Key(table, IdentifierCodec.encode(id));
+		byte[] bytes = encode(document);
+		lock.writeLock().lock();
+
+		try
+		{
+			return (generation == this.generation.get() && store(key, bytes));
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void invalidate(String table, Identifier id)
+	{
+		Key key = new Key(table, IdentifierCodec.encode(id));
+		lock.writeLock().lock();
+
+		try
+		{
+			generation.incrementAndGet();
+			index.remove(key);
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void invalidateAll()
+	{
+		lock.writeLock().lock();
+
+		try
+		{
+			generation.incrementAndGet();
+			index.clear();
+			slabs.forEach(Slab::reset);
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of invalidations so far, to pass to put() when caching a document read from the database.
+	 */
+	public long generation()
+	{
+		return generation.get();
+	}
+
+	public long hitCount()
+	{
+		return hits.sum();
+	}
+
+	public long missCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * The number of entries removed because their slab was evicted.
+	 */
+	public long evictionCount()
+	{
+		return evictions.sum();
+	}
+
+	/**
+	 * The number of cached documents, including expired documents not yet replaced or evicted.
+	 */
+	public long size()
+	{
+		lock.readLock().lock();
+
+		try
+		{
+			return index.size();
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * The number of bytes of off-heap memory allocated.
+	 */
+	public long allocatedBytes()
+	{
+		lock.readLock().lock();
+
+		try
+		{
+			return (long) slabs.size() * slabSize;
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Write the encoded document into a slab and index it. Must be called while holding the write lock.
+	 */
+	private boolean store(Key key, byte[] bytes)
+	{
+		if (bytes.length > slabSize)
+		{
+			index.remove(key);
+			return false;
+		}
+
+		Slab slab = allocate(bytes.length);
+		int offset = slab.position;
+		slab.buffer.put(offset, bytes);
+		slab.position += bytes.length;
+		slab.keys.add(key);
+		index.put(key, new Location(slab, offset, bytes.length, System.nanoTime()));
+		return true;
+	}
+
+	/**
+	 * Find room for length bytes at the end of the newest slab, allocating a new slab or evicting the oldest when it is full.
+	 * Must be called while holding the write lock.
+	 */
+	private Slab allocate(int length)
+	{
+		Slab current = slabs.peekLast();
+
+		if (current != null && slabSize - current.position >= length) return current;
+
+		if (slabs.size() < maxSlabs)
+		{
+			current = new Slab(ByteBuffer.allocateDirect(slabSize));
+		}
+		else
+		{
+			current = slabs.removeFirst();
+			evict(current);
+		}
+
+		slabs.addLast(current);
+		return current;
+	}
+
+	private boolean isExpired(Location location)
+	{
+		return (expireAfterWriteNanos > 0 && System.nanoTime() - location.writtenAt() >= expireAfterWriteNanos);
+	}
+
+	private void evict(Slab slab)
+	{
+		slab.keys.forEach(key -> {
+			// The entry may have been replaced by a copy in another slab.
+			Location location = index.get(key);
+
+			if (location != null && location.slab() == slab)
+			{
+				index.remove(key);
+				evictions.increment();
+			}
+		});
+
+		slab.reset();
+	}
+
+	/**
+	 * Serialize the document as: object length and bytes, type, created and updated times, metadata count and pairs.
+	 */
+	private static byte[] encode(Document document)
+	{
+		ByteBuffer object = document.getObjectAsBuffer();
+		byte[] type = asBytes(document.getType());
+		Map<String, String> metadata = document.getMetadata();
+		List<byte[]> pairs = new ArrayList<>();
+		int size = Integer.BYTES + (object != null ? object.remaining() : 0) + Integer.BYTES + (type != null ? type.length : 0) + Long.BYTES * 2 + Integer.BYTES;
+
+		if (metadata != null)
+		{
+			metadata.forEach((k, v) -> {
+				pairs.add(asBytes(k));
+				pairs.add(asBytes(v));
+			});
+		}
+
+		for (byte[] pair : pairs)
+		{
+			size += Integer.BYTES + (pair != null ? pair.length : 0);
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+
+		if (object != null) buffer.putInt(object.remaining()).put(object);
+		else buffer.putInt(-1);
+
+		putBytes(buffer, type);
+		buffer.putLong(document.getCreatedAt() != null ? document.getCreatedAt().getTime() : NULL_DATE);
+		buffer.putLong(document.getUpdatedAt() != null ? document.getUpdatedAt().getTime() : NULL_DATE);
+		buffer.putInt(metadata != null ? metadata.size() : -1);
+		pairs.forEach(pair -> putBytes(buffer, pair));
+		return buffer.array();
+	}
+
+	private static Document decode(byte[] bytes)
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		Document document = new Document();
+		int objectLength = buffer.getInt();
+
+		if (objectLength >= 0)
+		{
+			document.setObject(buffer.slice(buffer.position(), objectLength).asReadOnlyBuffer());
+			buffer.position(buffer.position() + objectLength);
+		}
+
+		document.setType(getString(buffer));
+		document.setCreatedAt(getDate(buffer));
+		document.setUpdatedAt(getDate(buffer));
+		int metadataSize = buffer.getInt();
+
+		if (metadataSize >= 0)
+		{
+			Map<String, String> metadata = new LinkedHashMap<>();
+
+			for (int i = 0; i < metadataSize; i++)
+			{
+				metadata.put(getString(buffer), getString(buffer));
+			}
+
+			document.setMetadata(metadata);
+		}
+
+		return document;
+	}
+
+	private static byte[] asBytes(String s)
+	{
+		return (s != null ? s.getBytes(StandardCharsets.UTF_8) : null);
+	}
+
+	private static void putBytes(ByteBuffer buffer, byte[] bytes)
+	{
+		if (bytes == null)
+		{
+			buffer.putInt(-1);
+			return;
+		}
+
+		buffer.putInt(bytes.length).put(bytes);
+	}
+
+	private static String getString(ByteBuffer buffer)
+	{
+		int length = buffer.getInt();
+
+		if (length < 0) return null;
+
+		String s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return s;
+	}
+
+	private static Date getDate(ByteBuffer buffer)
+	{
+		long time = buffer.getLong();
+		return (time != NULL_DATE ? new Date(time) : null);
+	}
+
+	private static final class Slab
+	{
+		private final ByteBuffer buffer;
+		private final List<Key> keys = new ArrayList<>();
+		private int position;
+
+		private Slab(ByteBuffer buffer)
+		{
+			this.buffer = buffer;
+		}
+
+		private void reset()
+		{
+			keys.clear();
+			position = 0;
+		}
+	}
+
+	private record Location(Slab slab, int offset, int length, long writtenAt)
+	{
+	}
+
+	private static final class Key
+	{
+		private final String table;
+		private final byte[] id;
+		private final int hash;
+
+		private Key(String table, byte[] id)
+		{
+			this.table = Objects.requireNonNull(table);
+			this.id = id;
+			this.hash = 31 * table.hashCode() + Arrays.hashCode(id);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object that)
+		{
+			return (that instanceof Key key && table.equals(key.table) && Arrays.equals(id, key.id));
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+/**
+ * Iterates every row of a query, decoding each row as it is reached. Subsequent pages are
+ * requested from the driver as soon as the previous one arrives, so the next page is usually
+ * in memory by the time the current page has been consumed. At most maxPages pages, including
+ * the page being iterated and any pages still in flight, are held at once.
+ *
+ * Not thread safe: the iterator is meant to be consumed by a single thread. Closing it stops
+ * any further pages from being requested.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class PagingIterator<T>
+implements Iterator<T>, AutoCloseable
+{
+	public static final int DEFAULT_MAX_PAGES = 2;
+
+	private final Function<Row, T> decoder;
+	private final int maxPages;
+	// The pages requested but not yet iterated, in order. A page of null marks the end of the results.
+	private final Deque<CompletableFuture<AsyncResultSet>> pages = new ArrayDeque<>();
+	private CompletableFuture<AsyncResultSet> last;
+	private Iterator<Row> rows = Collections.emptyIterator();
+	private boolean isCurrentPage = false;
+	private boolean isClosed = false;
+	private T next;
+
+	/**
+	 * @param firstPage the result of executing the query.
+	 * @param decoder converts a row to a result. A null result is skipped.
+	 * @param maxPages the maximum number of pages held in memory at once. Must be greater-than zero.
+	 * A value of 1 disables prefetching.
+	 */
+	public PagingIterator(CompletionStage<AsyncResultSet> firstPage, Function<Row, T> decoder, int maxPages)
+	{
+		super();
+		if (maxPages < 1) throw new IllegalArgumentException("maxPages must be greater than zero");
+		this.decoder = Objects.requireNonNull(decoder);
+		this.maxPages = maxPages;
+		this.last = firstPage.toCompletableFuture();
+		pages.add(last);
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		while (next == null)
+		{
+			if (rows.hasNext())
+			{
+				next = decoder.apply(rows.next());
+				continue;
+			}
+
+			if (isClosed) return false;
+
+			// Release the exhausted page before requesting another.
+			rows = Collections.emptyIterator();
+			isCurrentPage = false;
+			prefetch();
+
+			if (pages.isEmpty()) return false;
+
+			AsyncResultSet page = join(pages.poll());
+
+			if (page == null)
+			{
+				close();
+				return false;
+			}
+
+			rows = page.currentPage().iterator();
+			isCurrentPage = true;
+			prefetch();
+		}
+
+		return true;
+	}
+
+	@Override
+	public T next()
+	{
+		if (!hasNext()) throw new NoSuchElementException();
+
+		T result = next;
+		next = null;
+		return result;
+	}
+
+	/**
+	 * Stop requesting pages. Rows of the current page that have not been iterated are discarded,
+	 * as are pages already in flight when they arrive.
+	 */
+	@Override
+	public void close()
+	{
+		isClosed = true;
+		pages.forEach(page -> page.cancel(false));
+		pages.clear();
+		rows = Collections.emptyIterator();
+		isCurrentPage = false;
+	}
+
+	/**
+	 * A sequential, ordered Stream over this iterator that closes it when the Stream is closed.
+	 */
+	public Stream<T> stream()
+	{
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+			.onClose(this::close);
+	}
+
+	/**
+	 * Chain requests for subsequent pages until maxPages are either in memory or in flight.
+	 * Each request is sent by the driver as soon as the page before it arrives.
+	 */
+	private void prefetch()
+	{
+		while ((isCurrentPage ? 1 : 0) + pages.size() < maxPages && !isExhausted(last))
+		{
+			last = last.thenCompose(page -> (page == null || !page.hasMorePages()
+				? CompletableFuture.completedFuture(null)
+				: page.fetchNextPage()));
+			pages.add(last);
+		}
+	}
+
+	private boolean isExhausted(CompletableFuture<AsyncResultSet> page)
+	{
+		if (!page.isDone() || page.isCompletedExceptionally()) return false;
+
+		AsyncResultSet rs = page.join();
+		return (rs == null || !rs.hasMorePages());
+	}
+
+	private AsyncResultSet join(CompletableFuture<AsyncResultSet> page)
+	{
+		try
+		{
+			return page.join();
+		}
+		catch (CompletionException e)
+		{
+			close();
+			throw CassandraRepository.asStorageException(e);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+/**
+ * Publishes every row of a query to a Flow.Subscriber, decoding each row only when the subscriber
+ * has demand for it. The query is executed on the first request and each subsequent page is only
+ * fetched once the previous page has been consumed and there is outstanding demand, so no more
+ * than one page is held in memory and a slow subscriber slows the paging instead of buffering.
+ * Cancelling the subscription stops the paging.
+ *
+ * Each subscriber gets its own execution of the query. Rows are published on the thread that
+ * requests them or, when a page arrives, on the driver thread that completes it.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class PagingPublisher<T>
+implements Flow.Publisher<T>
+{
+	private final Supplier<CompletionStage<AsyncResultSet>> query;
+	private final Function<Row, T> decoder;
+
+	/**
+	 * @param query executes the query, returning its first page.
+	 * @param decoder converts a row to a published item. A null result is skipped.
+	 */
+	public PagingPublisher(Supplier<CompletionStage<AsyncResultSet>> query, Function<Row, T> decoder)
+	{
+		super();
+		this.query = Objects.requireNonNull(query);
+		this.decoder = Objects.requireNonNull(decoder);
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber)
+	{
+		Objects.requireNonNull(subscriber);
+		subscriber.onSubscribe(new PageSubscription(subscriber));
+	}
+
+	private class PageSubscription
+	implements Flow.Subscription
+	{
+		private final Flow.Subscriber<? super T> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		// Serializes signals to the subscriber: only the thread that increments from zero drains.
+		private final AtomicInteger wip = new AtomicInteger();
+		private volatile boolean isCancelled = false;
+		private volatile AsyncResultSet arrived;
+		private volatile Throwable failure;
+		private volatile CompletableFuture<AsyncResultSet> inFlight;
+
+		// Only accessed while draining.
+		private boolean isStarted = false;
+		private boolean isDone = false;
+		private AsyncResultSet page;
+		private Iterator<Row> rows;
+
+		PageSubscription(Flow.Subscriber<? super T> subscriber)
+		{
+			super();
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n)
+		{
+			if (n <= 0)
+			{
+				failure = new IllegalArgumentException("Subscription.request() must be positive: " + n);
+			}
+			else
+			{
+				demand.getAndAccumulate(n, (current, added) -> (current + added < 0 ? Long.MAX_VALUE : current + added));
+			}
+
+			drain();
+		}
+
+		@Override
+		public void cancel()
+		{
+			isCancelled = true;
+			drain();
+		}
+
+		private void onPage(AsyncResultSet rs, Throwable t)
+		{
+			inFlight = null;
+
+			if (t != null) failure = CassandraRepository.asStorageException(t);
+			else arrived = rs;
+
+			drain();
+		}
+
+		private void drain()
+		{
+			if (wip.getAndIncrement() != 0) return;
+
+			do
+			{
+				if (!isDone) drainOnce();
+			}
+			while (wip.decrementAndGet() != 0);
+		}
+
+		private void drainOnce()
+		{
+			if (isCancelled)
+			{
+				stop();
+				return;
+			}
+
+			if (failure != null)
+			{
+				stop();
+				subscriber.onError(failure);
+				return;
+			}
+
+			if (arrived != null)
+			{
+				page = arrived;
+				arrived = null;
+				rows = page.currentPage().iterator();
+			}
+
+			if (!isStarted)
+			{
+				if (demand.get() > 0)
+				{
+					isStarted = true;
+
+					try
+					{
+						fetch(query.get());
+					}
+					catch (RuntimeException e)
+					{
+						stop();
+						subscriber.onError(e);
+					}
+				}
+
+				return;
+			}
+
+			if (rows == null) return;
+
+			while (demand.get() > 0 && rows.hasNext())
+			{
+				if (isCancelled) return;
+
+				T item;
+
+				try
+				{
+					item = decoder.apply(rows.next());
+				}
+				catch (RuntimeException e)
+				{
+					stop();
+					subscriber.onError(e);
+					return;
+				}
+
+				if (item != null)
+				{
+					demand.decrementAndGet();
+					subscriber.onNext(item);
+				}
+			}
+
+			if (rows.hasNext()) return;
+
+			if (!page.hasMorePages())
+			{
+				stop();
+				subscriber.onComplete();
+			}
+			else if (demand.get() > 0)
+			{
+				AsyncResultSet current = page;
+				page = null;
+				rows = null;
+				fetch(current.fetchNextPage());
+			}
+		}
+
+		private void fetch(CompletionStage<AsyncResultSet> next)
+		{
+			CompletableFuture<AsyncResultSet> future = next.toCompletableFuture();
+			inFlight = future;
+			future.whenComplete(this::onPage);
+		}
+
+		/**
+		 * Release the current page and cancel any outstanding request. No further signals are sent after this.
+		 */
+		private void stop()
+		{
+			isDone = true;
+			page = null;
+			rows = null;
+			arrived = null;
+			CompletableFuture<AsyncResultSet> pending = inFlight;
+			if (pending != null) pending.cancel(false);
+		}
+	}
+}
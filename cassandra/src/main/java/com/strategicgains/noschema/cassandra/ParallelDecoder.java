@@ -0,0 +1,63 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Decodes a list of items (normally the rows of a page) on an executor, splitting it into chunks that
+ * are decoded concurrently. The results are in the order of the items. Used to keep decoding, which
+ * may include decompression and data binding, off the driver's I/O threads.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public final class ParallelDecoder
+{
+	private ParallelDecoder()
+	{
+		// prevents instantiation.
+	}
+
+	/**
+	 * Decode the items on the executor, in chunks of up to chunkSize items each.
+	 * The returned future fails with the first failure encountered.
+	 *
+	 * @param items the items to decode.
+	 * @param executor runs the decoding of each chunk.
+	 * @param chunkSize the maximum number of items decoded by one task. Must be greater-than zero.
+	 * @param decoder converts an item to a result. Null results are kept.
+	 * @return a CompletableFuture of the results, in the order of the items.
+	 */
+	public static <E, R> CompletableFuture<List<R>> decode(List<E> items, Executor executor, int chunkSize, Function<? super E, R> decoder)
+	{
+		if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be greater than zero");
+
+		if (items.isEmpty()) return CompletableFuture.completedFuture(new ArrayList<>());
+
+		final Object[] results = new Object[items.size()];
+		final List<CompletableFuture<Void>> chunks = new ArrayList<>((items.size() + chunkSize - 1) / chunkSize);
+
+		for (int start = 0; start < items.size(); start += chunkSize)
+		{
+			final int from = start;
+			final int to = Math.min(start + chunkSize, items.size());
+			chunks.add(CompletableFuture.runAsync(() -> {
+				for (int i = from; i < to; i++)
+				{
+					results[i] = decoder.apply(items.get(i));
+				}
+			}, executor));
+		}
+
+		return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+			.thenApply(v -> {
+				@SuppressWarnings("unchecked")
+				List<R> decoded = (List<R>) Arrays.asList(results);
+				return decoded;
+			});
+	}
+}
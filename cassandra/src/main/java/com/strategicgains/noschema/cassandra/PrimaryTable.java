@@ -27,6 +27,10 @@ import com.strategicgains.noschema.exception.KeyDefinitionException;
  * The primary key of tables and views is defined by a KeyDefinition instance, which defines which
  * columns are part of the primary key and their types.
  * 
+ * Optionally, the primary table can store the key of every view and index row in a compact 'view_keys'
+ * column (see {@link #withViewKeys()}). Deletes and updates then find stale view rows with a key-only read
+ * (or no read at all when the original entity is supplied) instead of reading and decoding the whole document.
+ * 
  * @author Todd Fredrich
  * @see KeyDefinition
  * @see SecondaryTable
@@ -38,6 +42,9 @@ extends AbstractTable
 	private List<View> views;
 	private List<Index> indexes;
 
+	// If true, the identifiers of each view and index row are stored in the primary row.
+	private boolean hasViewKeys;
+
 	public PrimaryTable()
 	{
 		super();
@@ -104,6 +111,30 @@ extends AbstractTable
 		return this;
 	}
 
+	/**
+	 * Store the identifiers of every view and index row in the primary row's 'view_keys' column.
+	 * 
+	 * NOTE: ensureTables() will not add the column to an existing table. Run
+	 * 'alter table &lt;keyspace&gt;.&lt;table&gt; add view_keys map&lt;text,blob&gt;' first. Rows written
+	 * before the column existed are handled by falling back to a full read.
+	 * 
+	 * @return this PrimaryTable.
+	 */
+	public PrimaryTable withViewKeys()
+	{
+		this.hasViewKeys = true;
+		return this;
+	}
+
+	/**
+	 * Answers whether the identifiers of the view and index rows are stored in the primary row.
+	 * Only meaningful when the table has views or indexes.
+	 */
+	public boolean hasViewKeys()
+	{
+		return hasViewKeys && (hasViews() || hasIndexes());
+	}
+
 	public void addView(View view)
 	{
 		if (views == null)
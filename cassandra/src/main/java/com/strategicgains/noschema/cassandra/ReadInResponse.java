@@ -0,0 +1,89 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.strategicgains.noschema.Identifiable;
+import com.strategicgains.noschema.Identifier;
+
+/**
+ * The result of reading many entities by identifier. Entities are kept in the order their identifiers
+ * were requested and identifiers that were not found are reported separately, also in request order.
+ * Duplicate identifiers in the request appear only once.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class ReadInResponse<T extends Identifiable>
+{
+	private final Map<Identifier, T> found;
+	private final List<Identifier> missing;
+
+	/**
+	 * @param ids the distinct requested identifiers, in order.
+	 * @param entities the entities found, by requested identifier.
+	 */
+	ReadInResponse(Collection<Identifier> ids, Map<Identifier, T> entities)
+	{
+		super();
+		this.found = new LinkedHashMap<>(Math.max(16, entities.size() * 4 / 3 + 1));
+		List<Identifier> notFound = new ArrayList<>();
+
+		ids.forEach(id -> {
+			T entity = entities.get(id);
+
+			if (entity != null) found.put(id, entity);
+			else notFound.add(id);
+		});
+
+		this.missing = (notFound.isEmpty() ? Collections.emptyList() : notFound);
+	}
+
+	public boolean hasItems()
+	{
+		return !found.isEmpty();
+	}
+
+	public int size()
+	{
+		return found.size();
+	}
+
+	public T get(Identifier id)
+	{
+		return found.get(id);
+	}
+
+	/**
+	 * The entities found, in the order their identifiers were requested.
+	 */
+	public List<T> items()
+	{
+		return new ArrayList<>(found.values());
+	}
+
+	/**
+	 * The entities found by requested identifier, iterating in request order.
+	 */
+	public Map<Identifier, T> asMap()
+	{
+		return Collections.unmodifiableMap(found);
+	}
+
+	public boolean hasMissing()
+	{
+		return !missing.isEmpty();
+	}
+
+	/**
+	 * The requested identifiers that were not found.
+	 */
+	public List<Identifier> missing()
+	{
+		return Collections.unmodifiableList(missing);
+	}
+}
@@ -0,0 +1,51 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The progress of a scan through one range of partition key tokens: the range, exclusive of
+ * its start token and inclusive of its end token, and the cursor of the next page to read.
+ * A null cursor starts at the beginning of the range. Checkpoints are immutable and can be
+ * persisted (e.g. as the three values) to resume a scan later.
+ *
+ * Tokens are those of the default Murmur3Partitioner, which covers every long value.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public record ScanCheckpoint(long startToken, long endToken, String cursor, boolean isComplete)
+{
+	/**
+	 * @return the checkpoints for the start of a scan of the whole token ring, split into count ranges of equal size.
+	 */
+	public static List<ScanCheckpoint> split(int count)
+	{
+		if (count < 1) throw new IllegalArgumentException("count must be greater than zero");
+
+		BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+		BigInteger size = BigInteger.valueOf(Long.MAX_VALUE).subtract(min);
+		List<ScanCheckpoint> ranges = new ArrayList<>(count);
+		long start = Long.MIN_VALUE;
+
+		for (int i = 1; i <= count; i++)
+		{
+			long end = (i == count
+				? Long.MAX_VALUE
+				: min.add(size.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count))).longValueExact());
+			ranges.add(new ScanCheckpoint(start, end, null, false));
+			start = end;
+		}
+
+		return ranges;
+	}
+
+	/**
+	 * @return a checkpoint of this range continuing from the given cursor, or complete if the cursor is null.
+	 */
+	ScanCheckpoint next(String nextCursor)
+	{
+		return new ScanCheckpoint(startToken, endToken, nextCursor, nextCursor == null);
+	}
+}
@@ -0,0 +1,159 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.protocol.internal.util.Bytes;
+
+/**
+ * A full scan of a table, split into ranges of partition key tokens that are read concurrently.
+ * Each range is paged independently, fetching its next page while the current page is decoded on
+ * the executor, so the scan is spread across the replicas owning each range instead of being
+ * funneled through one coordinator.
+ *
+ * When the scan starts, the initial ScanCheckpoint of every range is reported, and another after
+ * each page has been delivered. So keeping the latest checkpoint reported for each range gives the
+ * whole scan, which can be given to resumeFrom() to continue an interrupted scan without re-reading
+ * completed pages or missing ranges that were never started.
+ *
+ * Entities and checkpoints are delivered concurrently from many threads, so the consumers must
+ * be thread safe. Entities are delivered in no particular order across ranges.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class TokenRangeScan<T>
+{
+	public static final int DEFAULT_SPLITS = 256;
+	public static final int DEFAULT_PARALLELISM = 16;
+
+	private final CqlSession session;
+	private final Function<ScanCheckpoint, BoundStatement> statements;
+	private final Function<Row, T> decoder;
+	private int splits = DEFAULT_SPLITS;
+	private int parallelism = DEFAULT_PARALLELISM;
+	private Executor executor = ForkJoinPool.commonPool();
+	private List<ScanCheckpoint> checkpoints;
+	private Consumer<ScanCheckpoint> checkpointListener = c -> {};
+
+	/**
+	 * @param session the Cassandra session.
+	 * @param statements creates the statement reading the range, from the cursor, of a checkpoint.
+	 * @param decoder converts a row to an entity. A null result is skipped.
+	 */
+	public TokenRangeScan(CqlSession session, Function<ScanCheckpoint, BoundStatement> statements, Function<Row, T> decoder)
+	{
+		super();
+		this.session = Objects.requireNonNull(session);
+		this.statements = Objects.requireNonNull(statements);
+		this.decoder = Objects.requireNonNull(decoder);
+	}
+
+	/**
+	 * Set the number of token ranges to split the ring into. More ranges make for smaller
+	 * checkpoints of work and a more even spread. Ignored when resuming.
+	 */
+	public TokenRangeScan<T> withSplits(int splits)
+	{
+		if (splits < 1) throw new IllegalArgumentException("splits must be greater than zero");
+		this.splits = splits;
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of token ranges read at once.
+	 */
+	public TokenRangeScan<T> withParallelism(int parallelism)
+	{
+		if (parallelism < 1) throw new IllegalArgumentException("parallelism must be greater than zero");
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * Set the executor on which rows are decoded and delivered. Defaults to the common ForkJoinPool.
+	 */
+	public TokenRangeScan<T> withExecutor(Executor executor)
+	{
+		this.executor = Objects.requireNonNull(executor);
+		return this;
+	}
+
+	/**
+	 * Continue a previous scan from the last checkpoint reported for each of its ranges. Complete ranges are skipped.
+	 * Ranges without a checkpoint are not scanned, so every range reported by the previous scan must be included.
+	 */
+	public TokenRangeScan<T> resumeFrom(Collection<ScanCheckpoint> checkpoints)
+	{
+		this.checkpoints = List.copyOf(checkpoints);
+		return this;
+	}
+
+	/**
+	 * Set the consumer of the checkpoints reported for every range when the scan starts and after each page is delivered.
+	 */
+	public TokenRangeScan<T> onCheckpoint(Consumer<ScanCheckpoint> listener)
+	{
+		this.checkpointListener = Objects.requireNonNull(listener);
+		return this;
+	}
+
+	/**
+	 * Start the scan, delivering every entity to the consumer.
+	 *
+	 * @param consumer receives each entity. Must be thread safe.
+	 * @return a CompletableFuture that completes when every range has been scanned, failing with a
+	 * StorageException on the first failure, after which no more ranges are started.
+	 */
+	public CompletableFuture<Void> forEach(Consumer<? super T> consumer)
+	{
+		Objects.requireNonNull(consumer);
+		List<ScanCheckpoint> all = (checkpoints != null ? checkpoints : ScanCheckpoint.split(splits));
+		all.forEach(checkpointListener);
+		List<ScanCheckpoint> ranges = all.stream().filter(c -> !c.isComplete()).toList();
+
+		return ConcurrencyLimiter.forEach(ranges, parallelism, range -> scan(range, consumer))
+			.exceptionally(t -> {
+				throw CassandraRepository.asStorageException(t);
+			});
+	}
+
+	private CompletionStage<Void> scan(ScanCheckpoint range, Consumer<? super T> consumer)
+	{
+		return session.executeAsync(statements.apply(range))
+			.thenCompose(page -> deliver(range, page, consumer));
+	}
+
+	/**
+	 * Decode and deliver a page on the executor while the next page of the range is fetched.
+	 */
+	private CompletionStage<Void> deliver(ScanCheckpoint range, AsyncResultSet page, Consumer<? super T> consumer)
+	{
+		final boolean hasMorePages = page.hasMorePages();
+		final CompletableFuture<AsyncResultSet> next = (hasMorePages
+			? page.fetchNextPage().toCompletableFuture()
+			: CompletableFuture.completedFuture(null));
+		final ScanCheckpoint checkpoint = range.next(hasMorePages ? Bytes.toHexString(page.getExecutionInfo().getPagingState()) : null);
+
+		return CompletableFuture.runAsync(() -> page.currentPage().forEach(row -> {
+				T entity = decoder.apply(row);
+				if (entity != null) consumer.accept(entity);
+			}), executor)
+			.thenRun(() -> checkpointListener.accept(checkpoint))
+			.thenCombine(next, (v, nextPage) -> nextPage)
+			.thenCompose(nextPage -> (nextPage == null
+				? CompletableFuture.completedFuture(null)
+				: deliver(range, nextPage, consumer)));
+	}
+}
@@ -0,0 +1,305 @@
+package com.strategicgains.noschema.cassandra;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.strategicgains.noschema.Identifiable;
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.exception.StorageException;
+
+/**
+ * Buffers upserts, keeping only the latest state of each entity by identifier, and writes them
+ * in the background with upsertAll(), which groups them into single-partition batches. Suited to
+ * entities that are overwritten many times a second, like counters or last-seen times, where only
+ * the latest state matters.
+ *
+ * The buffer is flushed every flush interval and as soon as it is half full. Flushes are written
+ * in the order they are taken. When the buffered and in-flight entities reach the maximum size,
+ * upsert() of a new identifier blocks until a flush completes. Replacing an entity that is already
+ * buffered never blocks.
+ *
+ * Buffered entities are not visible to reads until they are flushed. A failed flush is not retried.
+ * The failure of a background flush is given to the error handler if one is set, otherwise it is
+ * thrown by the next flush() or close(), so it is never lost. Call close() on shutdown to flush the
+ * remaining entities.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class WriteBehindBuffer<T extends Identifiable>
+implements AutoCloseable
+{
+	private final Function<List<T>, CompletableFuture<?>> writer;
+	private final Function<T, Identifier> identifiers;
+	private final int maxSize;
+	private final ScheduledExecutorService scheduler;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = lock.newCondition();
+	private Map<Identifier, T> pending = new LinkedHashMap<>();
+	private int inFlight;
+	private CompletableFuture<Void> lastFlush = CompletableFuture.completedFuture(null);
+	private boolean isClosed;
+	private Consumer<Throwable> errorHandler;
+	// The last failure of a background flush not yet given to an error handler or thrown by a flush.
+	private Throwable unreported;
+
+	private WriteBehindBuffer(Function<List<T>, CompletableFuture<?>> writer, Function<T, Identifier> identifiers, int maxSize)
+	{
+		super();
+		if (maxSize < 1) throw new IllegalArgumentException("maxSize must be greater than zero");
+		this.writer = Objects.requireNonNull(writer);
+		this.identifiers = Objects.requireNonNull(identifiers);
+		this.maxSize = maxSize;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "write-behind-flush");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Create a buffer and start its background flushes.
+	 *
+	 * @param repository the repository to write to.
+	 * @param maxSize the maximum number of entities buffered and in flight at once.
+	 * @param flushInterval how often the buffer is flushed.
+	 * @return a new WriteBehindBuffer.
+	 */
+	public static <T extends Identifiable> WriteBehindBuffer<T> create(CassandraRepository<T> repository, int maxSize, Duration flushInterval)
+	{
+		return create(repository::upsertAllAsync, entity -> repository.identifierOf(repository.tableName(), entity), maxSize, flushInterval);
+	}
+
+	static <T extends Identifiable> WriteBehindBuffer<T> create(Function<List<T>, CompletableFuture<?>> writer, Function<T, Identifier> identifiers, int maxSize, Duration flushInterval)
+	{
+		if (flushInterval.isNegative() || flushInterval.isZero()) throw new IllegalArgumentException("flushInterval must be positive");
+
+		WriteBehindBuffer<T> buffer = new WriteBehindBuffer<>(writer, identifiers, maxSize);
+		long millis = flushInterval.toMillis();
+		buffer.scheduler.scheduleWithFixedDelay(buffer::startFlush, millis, millis, TimeUnit.MILLISECONDS);
+		return buffer;
+	}
+
+	/**
+	 * Set the consumer of failures of background flushes. Without one, they are thrown by the next flush() or close().
+	 */
+	public WriteBehindBuffer<T> onError(Consumer<Throwable> handler)
+	{
+		Objects.requireNonNull(handler);
+		lock.lock();
+
+		try
+		{
+			this.errorHandler = handler;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		return this;
+	}
+
+	/**
+	 * Buffer the entity, replacing any buffered state for its identifier. Blocks while the buffer is full.
+	 *
+	 * @param entity the entity to upsert.
+	 * @throws IllegalStateException if the buffer is closed.
+	 * @throws StorageException if interrupted while waiting for room in the buffer.
+	 */
+	public void upsert(T entity)
+	{
+		Identifier id = identifiers.apply(entity);
+		boolean shouldFlush;
+		lock.lock();
+
+		try
+		{
+			while (!pending.containsKey(id) && pending.size() + inFlight >= maxSize)
+			{
+				if (isClosed) break;
+				// Flush on the scheduler, as the writer must not be called while holding the lock.
+				if (!pending.isEmpty()) scheduler.execute(this::startFlush);
+				notFull.await();
+			}
+
+			if (isClosed) throw new IllegalStateException("Write-behind buffer is closed");
+
+			pending.put(id, entity);
+			shouldFlush = (pending.size() >= Math.max(1, maxSize / 2));
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new StorageException("Interrupted while waiting for room in the write-behind buffer", e);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		if (shouldFlush) startFlush();
+	}
+
+	/**
+	 * The number of entities buffered and not yet being written.
+	 */
+	public int size()
+	{
+		lock.lock();
+
+		try
+		{
+			return pending.size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Write the buffered entities and wait for them, and any earlier flushes, to complete.
+	 *
+	 * @throws StorageException if this flush fails, or an earlier background flush failed without an error handler.
+	 */
+	public void flush()
+	{
+		try
+		{
+			flushAsync().join();
+		}
+		catch (CompletionException e)
+		{
+			throw CassandraRepository.asStorageException(e);
+		}
+	}
+
+	/**
+	 * Start writing the buffered entities after any earlier flushes.
+	 *
+	 * @return a CompletableFuture that completes when the entities are written, exceptionally if this flush
+	 * fails or an earlier background flush failed without an error handler.
+	 */
+	public CompletableFuture<Void> flushAsync()
+	{
+		return startFlush().handle((v, t) -> {
+			Throwable failure = takeUnreported();
+			if (t != null) throw CassandraRepository.asStorageException(t);
+			if (failure != null) throw CassandraRepository.asStorageException(failure);
+			return null;
+		});
+	}
+
+	/**
+	 * Start a flush without reporting earlier failures, which are left to the error handler or the next flush().
+	 * The returned future fails only if this flush fails.
+	 */
+	private CompletableFuture<Void> startFlush()
+	{
+		final List<T> entities;
+		final CompletableFuture<Void> previous;
+		final CompletableFuture<Void> flush = new CompletableFuture<>();
+		lock.lock();
+
+		try
+		{
+			// The last flush has either reported its failure or left it unreported, so don't repeat it.
+			if (pending.isEmpty()) return lastFlush.handle((v, t) -> null);
+
+			entities = new ArrayList<>(pending.values());
+			pending = new LinkedHashMap<>();
+			inFlight += entities.size();
+			previous = lastFlush;
+			lastFlush = flush;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		// The writer is called after the lock is released, directly if the previous flush has already completed.
+		previous.handle((v, t) -> null)
+			.thenCompose(v -> writer.apply(entities))
+			.whenComplete((v, t) -> {
+				completed(entities.size(), t);
+				if (t != null) flush.completeExceptionally(CassandraRepository.asStorageException(t));
+				else flush.complete(null);
+			});
+		return flush;
+	}
+
+	/**
+	 * Stop the background flushes, write the buffered entities and wait for them. Further upserts are rejected.
+	 *
+	 * @throws StorageException if the final flush fails, or an earlier background flush failed without an error handler.
+	 */
+	@Override
+	public void close()
+	{
+		lock.lock();
+
+		try
+		{
+			if (isClosed) return;
+			isClosed = true;
+			notFull.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		scheduler.shutdownNow();
+		flush();
+	}
+
+	private void completed(int count, Throwable failure)
+	{
+		Consumer<Throwable> handler;
+		lock.lock();
+
+		try
+		{
+			inFlight -= count;
+			notFull.signalAll();
+			handler = errorHandler;
+			if (failure != null && handler == null) unreported = failure;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		if (failure != null && handler != null) handler.accept(failure);
+	}
+
+	private Throwable takeUnreported()
+	{
+		lock.lock();
+
+		try
+		{
+			Throwable failure = unreported;
+			unreported = null;
+			return failure;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+}
@@ -1,10 +1,13 @@
 package com.strategicgains.noschema.cassandra.document;
 
 import java.nio.ByteBuffer;
-import java.sql.Date;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.IdentifierCodec;
 import com.strategicgains.noschema.cassandra.document.DocumentSchemaProvider.Columns;
 import com.strategicgains.noschema.cassandra.key.KeyDefinition;
 import com.strategicgains.noschema.document.AbstractDocumentFactory;
@@ -40,17 +43,93 @@ extends AbstractDocumentFactory<T>
 		Document d = new Document();
 		ByteBuffer b = row.getByteBuffer(Columns.OBJECT);
 
-		if (b != null && b.hasArray())
+		if (b != null)
 		{
-			//Force the reading of all the bytes.
-			d.setObject((b.array()));
+			// Reference the driver's buffer rather than copying it. The codec reads the slice directly.
+			d.setObject(b);
 		}
 
+		// Multi-row reads select the key columns too.
+		if (row.getColumnDefinitions().contains(keys.component(0).column()))
+		{
+			d.setIdentifier(asIdentifier(row));
+		}
+
+		setHeader(d, row);
+		return d;
+	}
+
+	/**
+	 * Create a Document without a serialized object from a row read with the key columns, type,
+	 * metadata and timestamps. The identifier of the Document is read from the key columns.
+	 * 
+	 * @param row a Row selected as a header, or null.
+	 * @return a Document header, or null if the row is null.
+	 */
+	public Document asHeader(Row row)
+	{
+		if (row == null)
+		{
+			return null;
+		}
+
+		Document d = new Document();
+		d.setIdentifier(asIdentifier(row));
+		setHeader(d, row);
+		return d;
+	}
+
+	/**
+	 * Read the identifier from the key columns of a row.
+	 * 
+	 * @param row a Row selected with every key column.
+	 * @return the Identifier of the row.
+	 */
+	public Identifier asIdentifier(Row row)
+	{
+		return new Identifier(keys.components().stream()
+			.map(component -> row.getObject(component.column()))
+			.toArray());
+	}
+
+	private void setHeader(Document d, Row row)
+	{
 		d.setType(row.getString(Columns.TYPE));
 		d.setMetadata(row.getMap(Columns.METADATA, String.class, String.class));
-		d.setCreatedAt(new Date(row.getInstant(Columns.CREATED_AT).getEpochSecond()));
-		d.setUpdatedAt(new Date(row.getInstant(Columns.UPDATED_AT).getEpochSecond()));
-		return d;
+		d.setCreatedAt(Date.from(row.getInstant(Columns.CREATED_AT)));
+		d.setUpdatedAt(Date.from(row.getInstant(Columns.UPDATED_AT)));
+	}
+
+	/**
+	 * Encode the view identifiers of the document for the 'view_keys' column.
+	 * 
+	 * @param document a Document
+	 * @return a map of view name to encoded identifier.
+	 */
+	public static Map<String, ByteBuffer> asViewKeys(Document document)
+	{
+		Map<String, ByteBuffer> keys = new HashMap<>();
+		document.getViewIdentifiers().forEach((view, id) -> keys.put(view, ByteBuffer.wrap(IdentifierCodec.encode(id))));
+		return keys;
+	}
+
+	/**
+	 * Decode the 'view_keys' column of a row.
+	 * 
+	 * @param row a Row selected with the 'view_keys' column.
+	 * @return a map of view name to identifier. Empty if the row has no view keys stored.
+	 */
+	public static Map<String, Identifier> asViewIdentifiers(Row row)
+	{
+		Map<String, ByteBuffer> keys = row.getMap(Columns.VIEW_KEYS, String.class, ByteBuffer.class);
+		Map<String, Identifier> ids = new HashMap<>();
+
+		if (keys != null)
+		{
+			keys.forEach((view, bytes) -> ids.put(view, IdentifierCodec.decode(bytes)));
+		}
+
+		return ids;
 	}
 
 	private void setKeyDefinition(KeyDefinition keys)
@@ -1,6 +1,7 @@
 package com.strategicgains.noschema.cassandra.document;
 
 import com.strategicgains.noschema.cassandra.AbstractTable;
+import com.strategicgains.noschema.cassandra.PrimaryTable;
 import com.strategicgains.noschema.cassandra.key.KeyDefinition;
 import com.strategicgains.noschema.cassandra.schema.AbstractSchemaProvider;
 
@@ -14,6 +15,7 @@ extends AbstractSchemaProvider
 		public static final String METADATA = "metadata";
 		public static final String CREATED_AT = "created_at";
 		public static final String UPDATED_AT = "updated_at";
+		public static final String VIEW_KEYS = "view_keys";
 
 		private Columns()
 		{
@@ -28,6 +30,7 @@ extends AbstractSchemaProvider
 	    Columns.OBJECT + " blob," +
 		Columns.TYPE + " text," +
 	    Columns.METADATA + " map<text,text>," +
+	    "%s" +									// view keys (optional)
 	    // Add Location details, if needed, to Document.
 	    // Add Lucene index capability if needed to Document.
 		Columns.CREATED_AT + " timestamp," +
@@ -39,6 +42,7 @@ extends AbstractSchemaProvider
 	private String keyspace;
 	private String table;
 	private KeyDefinition keys;
+	private boolean hasViewKeys;
 
 	public DocumentSchemaProvider(AbstractTable table)
 	{
@@ -46,12 +50,13 @@ extends AbstractSchemaProvider
 		this.keyspace = table.keyspace();
 		this.table = table.asTableName();
 		this.keys = table.keys();
+		this.hasViewKeys = (table instanceof PrimaryTable primary && primary.hasViewKeys());
 	}
 
 	@Override
 	public String asCreateScript()
 	{
-		return String.format(CREATE_TABLE, keyspace, table, keys.asColumns(), keys.asPrimaryKey(), keys.asClusteringKey());
+		return String.format(CREATE_TABLE, keyspace, table, keys.asColumns(), (hasViewKeys ? Columns.VIEW_KEYS + " map<text,blob>," : ""), keys.asPrimaryKey(), keys.asClusteringKey());
 	}
 
 	@Override
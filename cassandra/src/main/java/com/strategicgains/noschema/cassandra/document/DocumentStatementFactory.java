@@ -1,8 +1,12 @@
 package com.strategicgains.noschema.cassandra.document;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.datastax.oss.driver.api.core.CqlSession;
@@ -13,8 +17,10 @@ import com.strategicgains.noschema.cassandra.AbstractTable;
 import com.strategicgains.noschema.cassandra.CqlStatementFactory;
 import com.strategicgains.noschema.cassandra.PrimaryTable;
 import com.strategicgains.noschema.cassandra.document.DocumentSchemaProvider.Columns;
+import com.strategicgains.noschema.cassandra.key.KeyDefinition;
 import com.strategicgains.noschema.document.Document;
 import com.strategicgains.noschema.document.ObjectCodec;
+import com.strategicgains.noschema.exception.ConfigurationException;
 import com.strategicgains.noschema.exception.InvalidIdentifierException;
 import com.strategicgains.noschema.exception.InvalidObjectIdException;
 import com.strategicgains.noschema.exception.KeyDefinitionException;
@@ -23,23 +29,37 @@ public final class DocumentStatementFactory<T>
 implements CqlStatementFactory<T>
 {
 	private static final String SELECT_COLUMNS = String.join(",", Columns.OBJECT, Columns.TYPE, Columns.METADATA, Columns.CREATED_AT, Columns.UPDATED_AT);
-	private static final String CREATE_CQL = "insert into %s.%s (%s, %s, %s, %s, %s, %s) values (%s)";
+	private static final String HEADER_COLUMNS = String.join(",", Columns.TYPE, Columns.METADATA, Columns.CREATED_AT, Columns.UPDATED_AT);
+	private static final String USING_TTL = " using ttl ?";
+	private static final String INSERT_CQL = "insert into %s.%s (%s, %s, %s, %s, %s, %s%s) values (%s)";
+	private static final String CREATE_CQL = INSERT_CQL + USING_TTL;
 	private static final String DELETE_CQL = "delete from %s.%s where %s";
-	private static final String EXISTS_CQL = "select count(*) from %s.%s  where %s limit 1";
+	private static final String EXISTS_CQL = "select %s from %s.%s where %s limit 1";
+	private static final String EXISTS_IN_CQL = "select %s from %s.%s where %s";
 	private static final String READ_CQL = "select " + SELECT_COLUMNS + " from %s.%s where %s limit 1";
-	private static final String READ_ALL_CQL = "select " + SELECT_COLUMNS + " from %s.%s where %s";
-	private static final String UPDATE_CQL = "update %s.%s set %s = ?, %s = ?, %s = ?, %s = ? where %s";
+	private static final String READ_ALL_CQL = "select %s," + SELECT_COLUMNS + " from %s.%s where %s";
+	private static final String READ_HEADER_CQL = "select %s," + HEADER_COLUMNS + " from %s.%s where %s limit 1";
+	private static final String READ_ALL_HEADERS_CQL = "select %s," + HEADER_COLUMNS + " from %s.%s where %s";
+	private static final String READ_VIEW_KEYS_CQL = "select " + Columns.VIEW_KEYS + " from %s.%s where %s limit 1";
+	// The TTL covers only the columns set here, not created_at or the row marker written by the original insert.
+	private static final String UPDATE_CQL = "update %s.%s" + USING_TTL + " set %s = ?, %s = ?, %s = ?, %s = ?%s where %s";
 
 	// These are used IFF there is a single primary table (with no views) and it is unique.
 	private static final String DELETE_UNIQUE_CQL = DELETE_CQL + " if exists";
-	private static final String CREATE_UNIQUE_CQL = CREATE_CQL + " if not exists";
+	private static final String CREATE_UNIQUE_CQL = INSERT_CQL + " if not exists" + USING_TTL;
 	private static final String UPDATE_UNIQUE_CQL = UPDATE_CQL + " if exists";
 
 	private static final String CREATE = "create";
 	private static final String DELETE = "delete";
 	private static final String EXISTS = "exists";
+	private static final String EXISTS_IN = "existsIn";
 	private static final String READ = "read";
 	private static final String READ_ALL = "readAll_";
+	private static final String READ_IN = "readIn";
+	private static final String READ_HEADER = "readHeader";
+	private static final String READ_ALL_HEADERS = "readAllHeaders_";
+	private static final String SCAN = "scan";
+	private static final String READ_VIEW_KEYS = "readViewKeys";
 	private static final String UPDATE = "update";
 	private static final String UPSERT = "upsert";
 
@@ -48,6 +68,7 @@ implements CqlStatementFactory<T>
 	private Map<String, PreparedStatement> statements = new ConcurrentHashMap<>();
 	private CassandraDocumentFactory<T> documentFactory;
 	private boolean useLightweightTxns;
+	private boolean hasViewKeys;
 
 	public DocumentStatementFactory(CqlSession session, AbstractTable table, ObjectCodec<T> codec)
 	{
@@ -65,70 +86,37 @@ implements CqlStatementFactory<T>
 		{
 			this.useLightweightTxns = true;
 		}
-	}
 
-	private PreparedStatement prepareCreate()
-	{
-		String cql = useLightweightTxns ? CREATE_UNIQUE_CQL : CREATE_CQL;
-		return statements.computeIfAbsent(CREATE, k -> 
-			session.prepare(
-				String.format(cql,
-					table.keyspace(),
-					table.asTableName(),
-					table.keys().asSelectProperties(),
-					Columns.OBJECT,
-					Columns.TYPE,
-					Columns.METADATA,
-					Columns.CREATED_AT,
-					Columns.UPDATED_AT,
-					table.keys().asQuestionMarks(5)))
-		);
+		this.hasViewKeys = (table instanceof PrimaryTable primary && primary.hasViewKeys());
 	}
 
-	private PreparedStatement prepareDelete()
+	/**
+	 * The statements of readAll() and readAllHeaders() depend on the number of parameters, so are still prepared on first use.
+	 */
+	@Override
+	public CompletionStage<Void> prepareAsync()
 	{
-		String cql = useLightweightTxns ? DELETE_UNIQUE_CQL : DELETE_CQL;
-		return statements.computeIfAbsent(DELETE, k ->
-			session.prepare(
-				String.format(cql,
-					table.keyspace(),
-					table.asTableName(),
-					table.keys().asIdentityClause()))
-		);
-	}
+		List<String> keys = new ArrayList<>(List.of(CREATE, DELETE, EXISTS, READ, READ_HEADER, SCAN, UPDATE, UPSERT));
 
-	private PreparedStatement prepareExists()
-	{
-		return statements.computeIfAbsent(EXISTS, k -> 
-			session.prepare(
-				String.format(EXISTS_CQL,
-					table.keyspace(),
-					table.asTableName(),
-					table.keys().asIdentityClause()))
-		);
-	}
+		if (table.keys().hasClusteringKey())
+		{
+			keys.add(EXISTS_IN);
+			keys.add(READ_IN);
+		}
 
-	private PreparedStatement prepareUpdate()
-	{
-		String cql = useLightweightTxns ? UPDATE_UNIQUE_CQL : UPDATE_CQL;
-		return statements.computeIfAbsent(UPDATE, k -> 
-			session.prepare(
-				String.format(cql,
-					table.keyspace(),
-					table.asTableName(),
-					Columns.OBJECT,
-					Columns.TYPE,
-					Columns.METADATA,
-					Columns.UPDATED_AT,
-					table.keys().asIdentityClause()))
-		);
+		if (hasViewKeys) keys.add(READ_VIEW_KEYS);
+
+		return CompletableFuture.allOf(keys.stream()
+			.filter(key -> !statements.containsKey(key))
+			.map(key -> session.prepareAsync(cql(key)).thenAccept(ps -> statements.putIfAbsent(key, ps)).toCompletableFuture())
+			.toArray(CompletableFuture[]::new));
 	}
 
-	private PreparedStatement prepareUpsert()
+	private String cql(String key)
 	{
-		return statements.computeIfAbsent(UPSERT, k -> 
-		session.prepare(
-			String.format(CREATE_CQL,
+		return switch (key)
+		{
+			case CREATE -> String.format(useLightweightTxns ? CREATE_UNIQUE_CQL : CREATE_CQL,
 				table.keyspace(),
 				table.asTableName(),
 				table.keys().asSelectProperties(),
@@ -137,66 +125,189 @@ implements CqlStatementFactory<T>
 				Columns.METADATA,
 				Columns.CREATED_AT,
 				Columns.UPDATED_AT,
-				table.keys().asQuestionMarks(5)))
-		);
+				(hasViewKeys ? ", " + Columns.VIEW_KEYS : ""),
+				table.keys().asQuestionMarks(hasViewKeys ? 6 : 5));
+			case DELETE -> String.format(useLightweightTxns ? DELETE_UNIQUE_CQL : DELETE_CQL,
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asIdentityClause());
+			case EXISTS -> String.format(EXISTS_CQL,
+				table.keys().component(0).column(),
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asIdentityClause());
+			case EXISTS_IN -> String.format(EXISTS_IN_CQL,
+				table.keys().component(table.keys().size() - 1).column(),
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asClusteringInClause());
+			case UPDATE -> String.format(useLightweightTxns ? UPDATE_UNIQUE_CQL : UPDATE_CQL,
+				table.keyspace(),
+				table.asTableName(),
+				Columns.OBJECT,
+				Columns.TYPE,
+				Columns.METADATA,
+				Columns.UPDATED_AT,
+				(hasViewKeys ? ", " + Columns.VIEW_KEYS + " = ?" : ""),
+				table.keys().asIdentityClause());
+			case UPSERT -> String.format(CREATE_CQL,
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asSelectProperties(),
+				Columns.OBJECT,
+				Columns.TYPE,
+				Columns.METADATA,
+				Columns.CREATED_AT,
+				Columns.UPDATED_AT,
+				(hasViewKeys ? ", " + Columns.VIEW_KEYS : ""),
+				table.keys().asQuestionMarks(hasViewKeys ? 6 : 5));
+			case READ -> String.format(READ_CQL,
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asIdentityClause());
+			case READ_HEADER -> String.format(READ_HEADER_CQL,
+				table.keys().asSelectProperties(),
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asIdentityClause());
+			case READ_VIEW_KEYS -> String.format(READ_VIEW_KEYS_CQL,
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asIdentityClause());
+			case READ_IN -> String.format(READ_ALL_CQL,
+				table.keys().asSelectProperties(),
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asClusteringInClause());
+			case SCAN -> String.format(READ_ALL_CQL,
+				table.keys().asSelectProperties(),
+				table.keyspace(),
+				table.asTableName(),
+				table.keys().asTokenRangeClause());
+			default -> throw new IllegalArgumentException("Unknown statement: " + key);
+		};
+	}
+
+	private PreparedStatement prepare(String key)
+	{
+		return statements.computeIfAbsent(key, k -> session.prepare(cql(k)));
 	}
 
-	private PreparedStatement prepareRead()
+	private PreparedStatement prepareExistsIn()
 	{
-		return statements.computeIfAbsent(READ, k -> 
+		if (!table.keys().hasClusteringKey()) throw new ConfigurationException("Multi-row reads require a clustering key: " + table.name());
+
+		return prepare(EXISTS_IN);
+	}
+
+	private PreparedStatement prepareReadAllHeaders(int keyCount)
+	{
+		return statements.computeIfAbsent(READ_ALL_HEADERS + keyCount, k -> 
 		session.prepare(
-			String.format(READ_CQL,
+			String.format(READ_ALL_HEADERS_CQL,
+				table.keys().asSelectProperties(),
 				table.keyspace(),
 				table.asTableName(),
-				table.keys().asIdentityClause()))
+				table.keys().asIdentityClause(keyCount)))
 		);
 	}
 
+	private PreparedStatement prepareReadViewKeys()
+	{
+		if (!hasViewKeys) throw new ConfigurationException("View keys are not stored for table: " + table.name());
+
+		return prepare(READ_VIEW_KEYS);
+	}
+
 	private PreparedStatement prepareReadAll(int keyCount)
 	{
 		return statements.computeIfAbsent(READ_ALL + keyCount, k -> 
 		session.prepare(
 			String.format(READ_ALL_CQL,
+				table.keys().asSelectProperties(),
 				table.keyspace(),
 				table.asTableName(),
 				table.keys().asIdentityClause(keyCount)))
 		);
 	}
 
+	private PreparedStatement prepareReadIn()
+	{
+		if (!table.keys().hasClusteringKey()) throw new ConfigurationException("Multi-row reads require a clustering key: " + table.name());
+
+		return prepare(READ_IN);
+	}
+
 	@Override
 	public BoundStatement create(T entity)
 	{
-		return bindCreate(prepareCreate(), entity);
+		return create(entity, table.ttl());
+	}
+
+	@Override
+	public BoundStatement create(T entity, long ttl)
+	{
+		return bindCreate(prepare(CREATE), entity, ttl);
 	}
 
 	@Override
 	public BoundStatement delete(Identifier id)
 	{
-		return bindIdentity(prepareDelete(), id);
+		return bindIdentity(prepare(DELETE), id);
 	}
 
 	@Override
 	public BoundStatement exists(Identifier id)
 	{
-		return bindIdentity(prepareExists(), id);
+		return bindIdentity(prepare(EXISTS), id);
 	}
 
 	@Override
 	public BoundStatement update(T entity)
 	{
-		return bindUpdate(prepareUpdate(), entity);
+		return update(entity, table.ttl());
+	}
+
+	@Override
+	public BoundStatement update(T entity, long ttl)
+	{
+		return bindUpdate(prepare(UPDATE), entity, ttl);
 	}
 
 	@Override
 	public BoundStatement upsert(T entity)
 	{
-		return bindCreate(prepareUpsert(), entity);
+		return upsert(entity, table.ttl());
+	}
+
+	@Override
+	public BoundStatement upsert(T entity, long ttl)
+	{
+		return bindCreate(prepare(UPSERT), entity, ttl);
 	}
 
 	@Override
 	public BoundStatement read(Identifier id)
 	{
-		return bindIdentity(prepareRead(), id);
+		return bindIdentity(prepare(READ), id);
+	}
+
+	@Override
+	public BoundStatement readHeader(Identifier id)
+	{
+		return bindIdentity(prepare(READ_HEADER), id);
+	}
+
+	@Override
+	public BoundStatement readAllHeaders(Object... parameters)
+	{
+		return prepareReadAllHeaders(parameters.length).bind(parameters);
+	}
+
+	@Override
+	public BoundStatement readViewKeys(Identifier id)
+	{
+		return bindIdentity(prepareReadViewKeys(), id);
 	}
 
 	@Override
@@ -205,44 +316,99 @@ implements CqlStatementFactory<T>
 		return prepareReadAll(parameters.length).bind(parameters);
 	}
 
+	@Override
+	public BoundStatement readIn(List<Identifier> ids)
+	{
+		return bindIn(prepareReadIn(), ids);
+	}
+
+	@Override
+	public BoundStatement existsIn(List<Identifier> ids)
+	{
+		return bindIn(prepareExistsIn(), ids);
+	}
+
 	protected BoundStatement bindIdentity(PreparedStatement bs, Identifier id)
 	{
 		return bs.bind(id.components().toArray());
 	}
 
-	protected BoundStatement bindCreate(PreparedStatement ps, T entity)
+	@Override
+	public BoundStatement scan(long startToken, long endToken)
+	{
+		return prepare(SCAN).bind(startToken, endToken);
+	}
+
+	/**
+	 * Bind the shared leading components of the identifiers, followed by the list of their last components.
+	 */
+	protected BoundStatement bindIn(PreparedStatement ps, List<Identifier> ids)
+	{
+		Identifier first = ids.get(0);
+		Object[] values = new Object[first.size()];
+		fill(values, 0, first.components().subList(0, first.size() - 1).toArray());
+		values[values.length - 1] = ids.stream().map(Identifier::lastComponent).toList();
+		return ps.bind(values);
+	}
+
+	protected BoundStatement bindCreate(PreparedStatement ps, T entity, long ttl)
 	{
 		Document document = asDocument(entity);
 		Date now = new Date();
 		document.setCreatedAt(now);
 		document.setUpdatedAt(now);
 		Identifier id = document.getIdentifier();
-		Object[] values = new Object[id.size() + 5]; // Identifier + object + metadata + createdAt + updatedAt.
+		Object[] values = new Object[id.size() + (hasViewKeys ? 7 : 6)]; // Identifier + object + type + metadata + createdAt + updatedAt [+ viewKeys] + ttl.
 		fill(values, 0, id.components().toArray());
 		fill(values, id.size(),
-			(document.hasObject() ? ByteBuffer.wrap(document.getObject()) : ByteBuffer.wrap(new byte[0])),
+			(document.hasObject() ? document.getObjectAsBuffer() : ByteBuffer.wrap(new byte[0])),
 				document.getType(),
 				document.getMetadata(),
 				document.getCreatedAt().toInstant(),
 			    document.getUpdatedAt().toInstant());
+
+		if (hasViewKeys)
+		{
+			values[id.size() + 5] = CassandraDocumentFactory.asViewKeys(document);
+		}
+
+		values[values.length - 1] = asTtl(ttl);
 		return ps.bind(values);
 	}
 
-	protected BoundStatement bindUpdate(PreparedStatement ps, T entity)
+	protected BoundStatement bindUpdate(PreparedStatement ps, T entity, long ttl)
 	{
 		Document document = asDocument(entity);
 		document.setUpdatedAt(new Date());
 		Identifier id = document.getIdentifier();
-		Object[] values = new Object[id.size() + 4];
+		int columnCount = (hasViewKeys ? 6 : 5);
+		Object[] values = new Object[id.size() + columnCount]; // ttl + object + type + metadata + updatedAt [+ viewKeys] + Identifier.
 			fill(values, 0,
-				(document.hasObject() ? ByteBuffer.wrap(document.getObject()) : ByteBuffer.wrap(new byte[0])),
+				asTtl(ttl),
+				(document.hasObject() ? document.getObjectAsBuffer() : ByteBuffer.wrap(new byte[0])),
 					document.getType(),
 					document.getMetadata(),
 				    document.getUpdatedAt().toInstant());
-			fill(values, 4, id.components().toArray());
+
+			if (hasViewKeys)
+			{
+				values[5] = CassandraDocumentFactory.asViewKeys(document);
+			}
+
+			fill(values, columnCount, id.components().toArray());
 			return ps.bind(values);
 	}
 
+	/**
+	 * Cassandra TTLs are an int number of seconds where zero means the data never expires.
+	 */
+	private static Integer asTtl(long ttl)
+	{
+		if (ttl < 0) throw new IllegalArgumentException("TTL cannot be negative: " + ttl);
+
+		return Math.toIntExact(ttl);
+	}
+
 	private void fill(Object[] array, int offset, Object... values)
 	{
 		for (int i = offset; i < values.length + offset; i++)
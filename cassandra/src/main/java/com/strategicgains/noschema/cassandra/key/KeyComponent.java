@@ -3,9 +3,6 @@
  */
 package com.strategicgains.noschema.cassandra.key;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.UnaryOperator;
 
 import com.strategicgains.noschema.exception.InvalidIdentifierException;
@@ -29,8 +26,8 @@ public class KeyComponent
 	// the function to map the extracted property value from the object into the column value.
 	private UnaryOperator<Object> extractor;
 
-	// Cached during runtime extraction: Access Fields by property name. Used to extract values from objects.
-	private List<Field> keyFields;
+	// Reads the property value from objects, caching the field getters per concrete class.
+	private KeyPropertyAccessor accessor;
 
 	public KeyComponent(String column, DataTypes type)
 	throws KeyDefinitionException
@@ -77,7 +74,7 @@ public class KeyComponent
 
 	public Object extract(Object object)
 	{
-		Object value = findValue(object);
+		Object value = accessor.get(object);
 		if (value == null) return null;
 		return (hasExtractor() ? extractor.apply(value) : value);
 	}
@@ -96,6 +93,7 @@ public class KeyComponent
 		}
 
 		this.property = property;
+		this.accessor = new KeyPropertyAccessor(property);
 		return this;
 	}
 
@@ -142,87 +140,4 @@ public class KeyComponent
 	{
 		return phrase.split("\\s*:\\s*");
 	}
-
-	private Object findValue(Object entity)
-	{
-		List<Field> fields = getKeyFields(entity);
-
-		try
-		{
-			if (fields.size() == 1) return fields.get(0).get(entity);
-	
-			int i = 0;
-			Object obj = entity;
-			do
-			{
-				obj = fields.get(i++).get(obj);
-				if (obj == null) return null;
-			}
-			while (i < fields.size());
-	
-			return obj;
-		}
-		catch(IllegalAccessException e)
-		{
-			throw new InvalidIdentifierException("Unable to access field: " + property, e);
-		}
-	}
-
-	private List<Field> getKeyFields(Object entity)
-	throws KeyDefinitionException
-	{
-		// Return the cached value, if available.
-		if (keyFields != null) return keyFields;
-
-		// Otherwise, find the fields and cache them.
-		keyFields = findFields(property, entity);
-		return keyFields;
-	}
-
-	private List<Field> findFields(String property, Object entity)
-	throws KeyDefinitionException
-	{
-		String[] path = property.split("\\.");
-		int i = 0;
-		List<Field> fields = new ArrayList<>(path.length);
-		Object current = entity;
-		do
-		{
-			Field field = findFieldInHierarchy(path[i++], current);
-			field.setAccessible(true);
-			fields.add(field);
-			try
-			{
-				current = field.get(current);
-			}
-			catch (IllegalArgumentException | IllegalAccessException e)
-			{
-				throw new KeyDefinitionException("Missing field: " + property, e);
-			}
-		}
-		while (i < path.length);
-
-		return fields;
-	}
-
-	private Field findFieldInHierarchy(String property, Object entity)
-	throws KeyDefinitionException
-	{
-		Class<?> currentClass = entity.getClass();
-
-		do
-		{
-			try
-			{
-				return currentClass.getDeclaredField(property);
-			}
-			catch (NoSuchFieldException e)
-			{
-				currentClass = currentClass.getSuperclass();
-			}
-		}
-		while (currentClass != null);
-
-		throw new KeyDefinitionException("Missing field: " + property);
-	}
 }
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -18,14 +17,15 @@ import com.strategicgains.noschema.exception.KeyDefinitionException;
  * It provides methods to add partition keys and clustering keys, which are essential components of Cassandra's and NoSchema's key model.
  * 
  * The class maintains a list of KeyComponent objects for partition keys and ClusteringKeyComponent objects for clustering keys.
- * It also maintains a map of key fields, which are cached at runtime for performance.
+ * Each component compiles its property path into field getters that are cached per concrete entity class, so identifier
+ * extraction is thread-safe and does no reflective lookups after the first entity of a given class.
  * 
  * The class provides methods to add keys, check the size and presence of keys, and generate identifiers from an entity.
  * It also provides methods to generate string representations of the keys for use in Cassandra queries.
  * 
  * The class also provides methods to check if the key definition is unique and valid, and to set the uniqueness of the key definition.
  * 
- * The class uses Java reflection to find fields in an entity that correspond to the keys and to extract their values.
+ * The class uses MethodHandles to read the fields in an entity that correspond to the keys.
  * It also uses Java streams to process the keys and generate string representations of them.
  * 
  * @author Todd Fredrich
@@ -113,19 +113,39 @@ public class KeyDefinition
 	throws KeyDefinitionException, InvalidIdentifierException
 	{
 		Identifier identifier = new Identifier();
-		List<String> missingProperties = new ArrayList<>(0);
-		AtomicBoolean kdeOccurred = new AtomicBoolean(false);
+		List<String> missingProperties = null;
+		boolean kdeOccurred = false;
 
-		kdeOccurred.compareAndSet(false, extractKey(entity, partitionKey, identifier, missingProperties));
-
-		if (hasClusteringKey())
+		for (int i = 0; i < size(); i++)
 		{
-			kdeOccurred.compareAndSet(false, extractKey(entity, clusteringKey, identifier, missingProperties));
+			KeyComponent k = component(i);
+
+			try
+			{
+				Object value = k.extract(entity);
+
+				if (value != null)
+				{
+					identifier.add(value);
+					continue;
+				}
+			}
+			catch (KeyDefinitionException e)
+			{
+				kdeOccurred = true;
+			}
+			catch (InvalidIdentifierException e)
+			{
+				// Reported as a missing property below.
+			}
+
+			if (missingProperties == null) missingProperties = new ArrayList<>(size());
+			missingProperties.add(k.property());
 		}
 
-		if (identifier.size() != size())
+		if (missingProperties != null)
 		{
-			if (kdeOccurred.get())
+			if (kdeOccurred)
 			{
 				throw new KeyDefinitionException("Missing fields: " + String.join(", ", missingProperties));
 			}
@@ -135,37 +155,6 @@ public class KeyDefinition
 		return identifier;
 	}
 
-	private <T extends KeyComponent> boolean extractKey(Object entity, List<T> keys, Identifier identifier, List<String> missingProperties)
-	{
-		AtomicBoolean kdeOccurred = new AtomicBoolean(false);
-
-		keys
-			.stream()
-			.forEach(k -> {
-				boolean kde = extractComponent(entity, k, identifier, missingProperties);
-				kdeOccurred.compareAndSet(false, kde);
-			});
-
-		return kdeOccurred.get();
-	}
-
-	private boolean extractComponent(Object entity, KeyComponent k, Identifier identifier, List<String> missingProperties)
-	{
-		try
-		{
-			Object value = k.extract(entity);
-			if (value != null) identifier.add(value);
-			else missingProperties.add(k.property());
-		}
-		catch (KeyDefinitionException | InvalidIdentifierException e)
-		{
-			missingProperties.add(k.property());
-			if (e instanceof KeyDefinitionException) return true;
-		}
-
-		return false;
-	}
-
 	public boolean isUnique()
 	{
 		return isUnique;
@@ -278,6 +267,40 @@ public class KeyDefinition
 		return sb.toString();
 	}
 
+	/**
+	 * The where clause selecting many rows of one partition by the last clustering key column,
+	 * with every other key column equal. For example, "alpha = ? and chi = ? and delta in ?".
+	 * Only valid if there is a clustering key.
+	 */
+	public String asClusteringInClause()
+	{
+		StringBuilder sb = new StringBuilder();
+		appendAsAssignments(partitionKey, sb, AND, partitionKey.size());
+		sb.append(AND);
+
+		if (clusteringKey.size() > 1)
+		{
+			appendAsAssignments(clusteringKey, sb, AND, clusteringKey.size() - 1);
+			sb.append(AND);
+		}
+
+		sb.append(clusteringKey.get(clusteringKey.size() - 1).column()).append(" in ?");
+		return sb.toString();
+	}
+
+	/**
+	 * The where clause selecting a range of partition key tokens, exclusive of the start and inclusive of the end.
+	 * For example, "token(alpha,beta) > ? and token(alpha,beta) <= ?".
+	 */
+	public String asTokenRangeClause()
+	{
+		StringBuilder sb = new StringBuilder("token(");
+		appendAsProperties(partitionKey, sb, COMMA_DELIMITER);
+		sb.append(")");
+		String token = sb.toString();
+		return token + " > ?" + AND + token + " <= ?";
+	}
+
 	private void appendAsColumns(List<? extends KeyComponent> components, StringBuilder builder)
 	{
 		if (components == null || components.isEmpty()) return;
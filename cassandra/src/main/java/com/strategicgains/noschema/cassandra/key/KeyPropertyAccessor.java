@@ -0,0 +1,153 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.cassandra.key;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import com.strategicgains.noschema.exception.InvalidIdentifierException;
+import com.strategicgains.noschema.exception.KeyDefinitionException;
+
+/**
+ * Reads a (possibly dotted) property path, like 'account.id', from an object.
+ * <p/>
+ * Each segment of the path resolves its field against the concrete class of the object it is
+ * applied to and caches the resulting getter MethodHandle per class in a ClassValue. So lookups are
+ * thread-safe, happen once per concrete class and stay correct when subclasses with different field
+ * layouts (or polymorphic nested objects) are presented in any order.
+ * 
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+final class KeyPropertyAccessor
+{
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private final String property;
+	private final Segment[] segments;
+
+	KeyPropertyAccessor(String property)
+	{
+		super();
+		this.property = property;
+		String[] path = property.split("\\.");
+		this.segments = new Segment[path.length];
+
+		for (int i = 0; i < path.length; i++)
+		{
+			segments[i] = new Segment(path[i]);
+		}
+	}
+
+	/**
+	 * Answer the value at the end of the property path or null if it, or any intermediate value, is null.
+	 * 
+	 * @param object the object from which to read the property.
+	 * @return the property value or null.
+	 * @throws KeyDefinitionException if a segment of the path is not a field of the object at that level.
+	 * @throws InvalidIdentifierException if the field cannot be read.
+	 */
+	Object get(Object object)
+	throws KeyDefinitionException, InvalidIdentifierException
+	{
+		Object current = object;
+
+		for (Segment segment : segments)
+		{
+			if (current == null) return null;
+
+			current = segment.get(current);
+		}
+
+		return current;
+	}
+
+	private class Segment
+	{
+		private final String name;
+		private final ClassValue<MethodHandle> getters = new ClassValue<>()
+		{
+			@Override
+			protected MethodHandle computeValue(Class<?> type)
+			{
+				return createGetter(name, type);
+			}
+		};
+
+		Segment(String name)
+		{
+			super();
+			this.name = name;
+		}
+
+		Object get(Object object)
+		{
+			try
+			{
+				return getters.get(object.getClass()).invokeExact(object);
+			}
+			catch (KeyDefinitionException e)
+			{
+				throw e;
+			}
+			catch (Throwable t)
+			{
+				throw new InvalidIdentifierException("Unable to access field: " + property, t);
+			}
+		}
+	}
+
+	private MethodHandle createGetter(String name, Class<?> type)
+	throws KeyDefinitionException
+	{
+		Field field = findFieldInHierarchy(name, type);
+
+		try
+		{
+			field.setAccessible(true);
+			return MethodHandles.lookup()
+				.unreflectGetter(field)
+				.asType(GETTER_TYPE);
+		}
+		catch (IllegalAccessException | RuntimeException e)
+		{
+			throw new KeyDefinitionException("Missing field: " + property, e);
+		}
+	}
+
+	private Field findFieldInHierarchy(String name, Class<?> type)
+	throws KeyDefinitionException
+	{
+		Class<?> currentClass = type;
+
+		do
+		{
+			try
+			{
+				return currentClass.getDeclaredField(name);
+			}
+			catch (NoSuchFieldException e)
+			{
+				currentClass = currentClass.getSuperclass();
+			}
+		}
+		while (currentClass != null);
+
+		throw new KeyDefinitionException("Missing field: " + property);
+	}
+}
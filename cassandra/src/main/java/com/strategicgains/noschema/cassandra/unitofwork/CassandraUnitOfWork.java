@@ -7,6 +7,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
@@ -58,6 +59,18 @@ implements UnitOfWork
 		return this;
 	}
 
+	/**
+	 * Registers a new entity, overriding the table's TTL with the given one.
+	 *
+	 * @param entity the new entity to register.
+	 * @param ttl the time-to-live in seconds for the written row. Zero means the row never expires.
+	 */
+	public CassandraUnitOfWork registerNew(String viewName, Document entity, long ttl)
+	{
+		changeSet.registerChange(new DocumentChange(viewName, entity, EntityState.NEW, ttl));
+		return this;
+	}
+
 	/**
 	 * Registers an entity that has been updated during the transaction.
 	 *
@@ -69,6 +82,18 @@ implements UnitOfWork
 		return this;
 	}
 
+	/**
+	 * Registers an entity that has been updated during the transaction, overriding the table's TTL with the given one.
+	 *
+	 * @param entity the entity in its dirty state (after update).
+	 * @param ttl the time-to-live in seconds for the written row. Zero means the row never expires.
+	 */
+	public CassandraUnitOfWork registerDirty(String viewName, Document entity, long ttl)
+	{
+		changeSet.registerChange(new DocumentChange(viewName, entity, EntityState.DIRTY, ttl));
+		return this;
+	}
+
 	/**
 	 * Registers an entity for removal during the transaction.
 	 *
@@ -97,6 +122,45 @@ implements UnitOfWork
     @Override
 	public void commit()
 	throws UnitOfWorkCommitException
+	{
+		try
+		{
+			commitAsync().join();
+		}
+		catch (CompletionException e)
+		{
+			if (e.getCause() instanceof UnitOfWorkCommitException commitException) throw commitException;
+			throw new UnitOfWorkCommitException("Commit failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Commits the registered changes without blocking the calling thread.
+	 *
+	 * @return a CompletableFuture that completes when the changes are written, failing with a
+	 * UnitOfWorkCommitException if an existence check or the commit fails.
+	 */
+	public CompletableFuture<Void> commitAsync()
+	{
+		return prepareStatements()
+			.thenCompose(statements -> commitStrategy.commit(statements))
+			.<Void>thenApply(r -> null)
+			.exceptionally(t -> {
+				Throwable cause = (t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+				if (cause instanceof UnitOfWorkCommitException commitException) throw commitException;
+				throw new UnitOfWorkCommitException("Commit failed", cause);
+			});
+	}
+
+	/**
+	 * Performs the existence checks and generates the statements for the registered changes
+	 * without executing them. This allows the statements of many units of work to be
+	 * committed together, as for bulk writes.
+	 * 
+	 * @return a CompletableFuture of the statements, which fails with a UnitOfWorkCommitException
+	 * if an existence check fails.
+	 */
+	public CompletableFuture<List<BoundStatement>> prepareStatements()
 	{
 		List<CompletionStage<Boolean>> existence = new ArrayList<>();
 		List<BoundStatement> statements = new ArrayList<>();
@@ -106,11 +170,13 @@ implements UnitOfWork
 			generateStatementFor((DocumentChange) change).ifPresent(statements::add);
 		});
 
-		handleExistenceChecks(existence);
-
-		commitStrategy
-			.commit(statements)
-			.join();
+		return CompletableFuture.allOf(existence.stream()
+				.map(CompletionStage::toCompletableFuture)
+				.toArray(CompletableFuture[]::new))
+			.<List<BoundStatement>>thenApply(v -> statements)
+			.exceptionally(t -> {
+				throw new UnitOfWorkCommitException(t.getCause());
+			});
 	}
 
 	@Override
@@ -120,27 +186,6 @@ implements UnitOfWork
         commitStrategy.rollback();
     }
 
-	private void handleExistenceChecks(List<CompletionStage<Boolean>> futures)
-	throws UnitOfWorkCommitException
-	{
-		CompletableFuture<?>[] futuresArray = futures.stream()
-			.map(CompletionStage::toCompletableFuture)
-			.toArray(CompletableFuture[]::new);
-
-		CompletableFuture<Void> anyFailedFuture = CompletableFuture.allOf(futuresArray);
-
-		try
-		{
-			anyFailedFuture.exceptionally(t -> {
-				throw new UnitOfWorkCommitException(t.getCause());
-			}).join();
-		}
-		catch (CompletionException e)
-		{
-			throw (UnitOfWorkCommitException) e.getCause();
-		}
-	}
-
 	private Optional<CompletionStage<Boolean>> checkExistence(CqlSession session, final DocumentChange change)
 	{
 		String viewName = change.getView();
@@ -148,7 +193,7 @@ implements UnitOfWork
 		if (statementFactory.isViewUnique(viewName))
 		{
 			return Optional.of(session.executeAsync(statementFactory.exists(viewName, change.getId()))
-				.thenApply(r -> r.one().getLong(0) > 0L)
+				.thenApply(r -> r.one() != null)
 					.thenCompose(exists -> checkExistenceRules(change, exists)));
 		}
 
@@ -184,9 +229,13 @@ implements UnitOfWork
 			case DELETED:
 				return Optional.of(statementFactory.delete(viewName, change.getId()));
 			case DIRTY:
-				return Optional.of(statementFactory.update(viewName, change.getEntity()));
+				return Optional.of(change.hasTtl()
+					? statementFactory.update(viewName, change.getEntity(), change.getTtl())
+					: statementFactory.update(viewName, change.getEntity()));
 			case NEW:
-				return Optional.of(statementFactory.create(viewName, change.getEntity()));
+				return Optional.of(change.hasTtl()
+					? statementFactory.create(viewName, change.getEntity(), change.getTtl())
+					: statementFactory.create(viewName, change.getEntity()));
 			default:
 				break;
 		}
@@ -194,6 +243,14 @@ implements UnitOfWork
 		return Optional.empty();
 	}
 
+	/**
+	 * Visit the view name and identifier of every registered change, including clean registrations.
+	 */
+	public void forEachChange(BiConsumer<String, Identifier> action)
+	{
+		changeSet.stream().forEach(change -> action.accept(((DocumentChange) change).getView(), change.getId()));
+	}
+
 	public Document readClean(Identifier id)
 	{
 		return changeSet.findClean(id);
@@ -13,7 +13,9 @@ public enum CommitType
 {
 	ASYNC,
 	LOGGED,
-	UNLOGGED;
+	UNLOGGED,
+	// Single-partition UNLOGGED batches, executed with bounded concurrency.
+	PARTITIONED;
 
 	public CommitStrategy asCommitStrategy(CqlSession session)
 	{
@@ -25,6 +27,8 @@ public enum CommitType
 			return new BatchCommitStrategy(BatchType.LOGGED, session);
 		case UNLOGGED:
 			return new BatchCommitStrategy(BatchType.UNLOGGED, session);
+		case PARTITIONED:
+			return new PartitionedBatchCommitStrategy(session);
 		}
 
 		return null;
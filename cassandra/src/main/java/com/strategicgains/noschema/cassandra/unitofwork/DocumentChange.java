@@ -11,17 +11,36 @@ extends Change<Document>
 {
 	private String view;
 
+	// TTL override in seconds for this change. Null means use the table's configured TTL.
+	private Long ttl;
+
 	public DocumentChange(String view, Document entity, EntityState state)
 	{
 		super(entity, state);
 		this.view = view;
 	}
 
+	public DocumentChange(String view, Document entity, EntityState state, long ttl)
+	{
+		this(view, entity, state);
+		this.ttl = ttl;
+	}
+
 	public String getView()
 	{
 		return view;
 	}
 
+	public boolean hasTtl()
+	{
+		return (ttl != null);
+	}
+
+	public long getTtl()
+	{
+		return (hasTtl() ? ttl : 0L);
+	}
+
 	@Override
 	public int hashCode()
 	{
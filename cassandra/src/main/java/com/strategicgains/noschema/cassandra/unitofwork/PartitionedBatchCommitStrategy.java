@@ -0,0 +1,137 @@
+package com.strategicgains.noschema.cassandra.unitofwork;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.strategicgains.noschema.cassandra.ConcurrencyLimiter;
+import com.strategicgains.noschema.unitofwork.UnitOfWorkCommitException;
+import com.strategicgains.noschema.unitofwork.UnitOfWorkRollbackException;
+
+/**
+ * Groups statements by table and partition key, executing each group as an UNLOGGED single-partition batch.
+ * Groups are executed concurrently, with at most maxConcurrency in flight. Single-partition batches are
+ * applied atomically by the replica without the batch log, so this is the cheapest way to write many rows.
+ *
+ * Note that there is no atomicity across partitions, as with the ASYNC commit type.
+ *
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class PartitionedBatchCommitStrategy
+implements CommitStrategy
+{
+	public static final int DEFAULT_MAX_CONCURRENCY = 32;
+	public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+	private CqlSession session;
+	private int maxConcurrency;
+	private int maxBatchSize;
+
+	public PartitionedBatchCommitStrategy(CqlSession session)
+	{
+		this(session, DEFAULT_MAX_CONCURRENCY);
+	}
+
+	public PartitionedBatchCommitStrategy(CqlSession session, int maxConcurrency)
+	{
+		this(session, maxConcurrency, DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * @param session the Cassandra session.
+	 * @param maxConcurrency the maximum number of batches in flight at once.
+	 * @param maxBatchSize the maximum number of statements in a single batch. Larger partition groups are split.
+	 */
+	public PartitionedBatchCommitStrategy(CqlSession session, int maxConcurrency, int maxBatchSize)
+	{
+		super();
+		if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be greater than zero");
+		if (maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be greater than zero");
+		this.session = Objects.requireNonNull(session);
+		this.maxConcurrency = maxConcurrency;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	@Override
+	public CompletableFuture<Void> commit(List<BoundStatement> statements)
+	throws UnitOfWorkCommitException
+	{
+		return ConcurrencyLimiter.forEach(asBatches(statements), maxConcurrency, session::executeAsync)
+			.exceptionally(t -> {
+				throw new UnitOfWorkCommitException("Commit failed", t);
+			});
+	}
+
+	@Override
+	public void rollback()
+	throws UnitOfWorkRollbackException
+	{
+		throw new UnitOfWorkRollbackException("Not Implemented.");
+	}
+
+	private List<Statement<?>> asBatches(List<BoundStatement> statements)
+	{
+		Map<PartitionKey, List<BoundStatement>> partitions = new LinkedHashMap<>();
+		List<Statement<?>> batches = new ArrayList<>();
+
+		statements.forEach(s -> {
+			PartitionKey key = PartitionKey.of(s);
+
+			// Without a routing key the partition is unknown, so it cannot be safely batched.
+			if (key == null) batches.add(s);
+			else partitions.computeIfAbsent(key, k -> new ArrayList<>()).add(s);
+		});
+
+		partitions.values().forEach(group -> {
+			for (int i = 0; i < group.size(); i += maxBatchSize)
+			{
+				List<BoundStatement> chunk = group.subList(i, Math.min(i + maxBatchSize, group.size()));
+
+				if (chunk.size() == 1)
+				{
+					batches.add(chunk.get(0));
+				}
+				else
+				{
+					BatchStatementBuilder batch = new BatchStatementBuilder(BatchType.UNLOGGED);
+					chunk.forEach(batch::addStatement);
+					batches.add(batch.build());
+				}
+			}
+		});
+
+		return batches;
+	}
+
+	/**
+	 * The table and routing key of a statement.
+	 */
+	private record PartitionKey(String keyspace, String table, ByteBuffer routingKey)
+	{
+		/**
+		 * @return the PartitionKey of the statement or null if the driver can't determine its routing key.
+		 */
+		static PartitionKey of(BoundStatement statement)
+		{
+			ColumnDefinitions variables = statement.getPreparedStatement().getVariableDefinitions();
+
+			if (statement.getRoutingKey() == null || variables.size() == 0) return null;
+
+			return new PartitionKey(
+				variables.get(0).getKeyspace().asInternal(),
+				variables.get(0).getTable().asInternal(),
+				statement.getRoutingKey());
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.cassandra.unitofwork.CommitType;
+import com.strategicgains.noschema.gson.GsonObjectCodec;
+
+public class CachingRepositoryTest
+{
+	private static final CqlSession SESSION = (CqlSession) Proxy.newProxyInstance(
+		CachingRepositoryTest.class.getClassLoader(),
+		new Class<?>[] { CqlSession.class },
+		(proxy, method, args) -> { throw new UnsupportedOperationException(method.getName()); });
+
+	private UUID accountId = UUID.fromString("a87d3bff-6997-4739-ab4e-ded0cc85700f");
+	private Flower flower;
+	private Flower other;
+	private AtomicInteger reads = new AtomicInteger();
+	// Run while the first read is in flight, to interleave a write with it.
+	private Runnable duringRead = () -> {};
+	private CachingRepository<Flower> cache;
+
+	@Before
+	public void setup()
+	{
+		flower = new Flower(UUID.fromString("8dbac965-a1c8-4ad6-a043-5f5a9a5ee8c0"), "rose", true, 3.25f, Arrays.asList("red"));
+		flower.setAccountId(accountId);
+		flower.setCreatedAt(new Date(1648598130248L));
+		flower.setUpdatedAt(new Date(1648598130248L));
+		other = new Flower(UUID.fromString("1f3e0a5c-2b7d-4c8e-9f60-7a1b2c3d4e5f"), "tulip", true, 1.75f, Arrays.asList("yellow"));
+		other.setAccountId(accountId);
+		other.setCreatedAt(new Date(1648598130248L));
+		other.setUpdatedAt(new Date(1648598130248L));
+
+		FlowerRepository flowers = new FlowerRepository(SESSION, "test", CommitType.LOGGED, new GsonObjectCodec<>())
+		{
+			@Override
+			public Flower read(String viewName, Identifier id)
+			{
+				reads.incrementAndGet();
+				Flower stored = flower;
+				Runnable write = duringRead;
+				duringRead = () -> {};
+				write.run();
+				return stored;
+			}
+
+			@Override
+			public List<Flower> readIn(String viewName, List<Identifier> ids)
+			{
+				reads.incrementAndGet();
+				return Arrays.asList(other);
+			}
+
+			@Override
+			public Flower upsert(Flower entity)
+			{
+				return entity;
+			}
+		};
+
+		cache = new CachingRepository<>(flowers, 100, Duration.ofMinutes(1));
+	}
+
+	@Test
+	public void shouldReadThrough()
+	{
+		Flower read = cache.read(flower.getIdentifier());
+		assertSame(read, cache.read(flower.getIdentifier()));
+		assertEquals(1, reads.get());
+		assertEquals(1, cache.hitCount());
+		assertEquals(1, cache.missCount());
+	}
+
+	@Test
+	public void shouldInvalidateViewsOnWrite()
+	{
+		Identifier byName = new Identifier(accountId, "rose");
+		cache.read(flower.getIdentifier());
+		cache.read("by_name", byName);
+		assertEquals(2, cache.size());
+
+		cache.upsert(flower);
+		assertEquals(0, cache.size());
+
+		cache.read("by_name", byName);
+		assertEquals(3, reads.get());
+	}
+
+	@Test
+	public void shouldReadInRequestOrder()
+	{
+		cache.read(flower.getIdentifier());
+		List<Flower> read = cache.readIn(Arrays.asList(other.getIdentifier(), flower.getIdentifier()));
+		assertEquals(Arrays.asList(other, flower), read);
+		assertEquals(2, reads.get());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void shouldNotCacheEntitiesReadBeforeAWrite()
+	{
+		Identifier byName = new Identifier(accountId, "rose");
+		duringRead = () -> cache.upsert(flower);
+
+		cache.read("by_name", byName);
+		assertEquals(0, cache.size());
+
+		cache.read("by_name", byName);
+		assertEquals(1, cache.size());
+		assertEquals(2, reads.get());
+	}
+}
@@ -0,0 +1,162 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.cassandra.unitofwork.CommitType;
+import com.strategicgains.noschema.exception.ConfigurationException;
+import com.strategicgains.noschema.gson.GsonObjectCodec;
+
+public class CassandraRepositoryTest
+{
+	// Completes queries the way the driver does, on its own I/O threads.
+	private final ExecutorService driver = Executors.newSingleThreadExecutor(r -> new Thread(r, "driver-io"));
+	private final AtomicInteger blockingPrepares = new AtomicInteger();
+
+	@After
+	public void teardown()
+	{
+		driver.shutdownNow();
+	}
+
+	@Test
+	public void shouldNotPrepareOnDriverThreadsWhenProbingGroups()
+	{
+		UUID account = UUID.randomUUID();
+		UUID other = UUID.randomUUID();
+		FlowerRepository flowers = new FlowerRepository(session(), "test", CommitType.LOGGED, new GsonObjectCodec<>());
+
+		// One group per account, probed one at a time: the second group's EXISTS_IN is built after the first query completes.
+		List<Identifier> present = flowers.existsInAsync("by_name", Arrays.asList(
+				new Identifier(account, "rose"),
+				new Identifier(other, "tulip"),
+				new Identifier(other, "daisy")), 1)
+			.join();
+
+		assertEquals(Arrays.asList(new Identifier(account, "rose"), new Identifier(other, "tulip")), present);
+		assertEquals(0, blockingPrepares.get());
+	}
+
+	@Test
+	public void shouldFailFutureForUnknownIndex()
+	{
+		FlowerRepository flowers = new FlowerRepository(session(), "test", CommitType.LOGGED, new GsonObjectCodec<>());
+		CompletableFuture<?> page = flowers.readAllByIndexAsync("by_color", 10, null, "red");
+
+		try
+		{
+			page.join();
+			fail("Expected a failed future");
+		}
+		catch (CompletionException e)
+		{
+			assertTrue(CassandraRepository.asStorageException(e).getCause() instanceof ConfigurationException);
+		}
+	}
+
+	private CqlSession session()
+	{
+		DriverContext context = proxy(DriverContext.class, (name, args) -> switch (name)
+		{
+			case "getCodecRegistry" -> CodecRegistry.DEFAULT;
+			case "getProtocolVersion" -> DefaultProtocolVersion.V4;
+			default -> null;
+		});
+
+		return proxy(CqlSession.class, (name, args) -> switch (name)
+		{
+			case "prepareAsync" -> CompletableFuture.supplyAsync(() -> prepared((String) args[0]), driver);
+			case "prepare" -> {
+				blockingPrepares.incrementAndGet();
+				if (Thread.currentThread().getName().startsWith("driver")) throw new IllegalStateException("Detected a synchronous API call on a driver thread");
+				yield prepared((String) args[0]);
+			}
+			case "executeAsync" -> CompletableFuture.supplyAsync(() -> result(args[0].toString()), driver);
+			case "getContext" -> context;
+			default -> throw new UnsupportedOperationException(name);
+		});
+	}
+
+	private PreparedStatement prepared(String cql)
+	{
+		BoundStatement[] bound = new BoundStatement[1];
+		bound[0] = proxy(BoundStatement.class, (name, args) -> switch (name)
+		{
+			case "setPageSize" -> bound[0];
+			case "toString" -> cql;
+			default -> throw new UnsupportedOperationException(name);
+		});
+
+		return proxy(PreparedStatement.class, (name, args) -> {
+			if ("bind".equals(name)) return bound[0];
+			throw new UnsupportedOperationException(name);
+		});
+	}
+
+	/**
+	 * Every single-row probe finds its row. Multi-row probes find only 'tulip'.
+	 */
+	private AsyncResultSet result(String cql)
+	{
+		Row row = proxy(Row.class, (name, args) -> {
+			if ("getBytesUnsafe".equals(name)) return TypeCodecs.TEXT.encode("tulip", DefaultProtocolVersion.V4);
+			throw new UnsupportedOperationException(name);
+		});
+		ColumnDefinition column = proxy(ColumnDefinition.class, (name, args) -> {
+			if ("getType".equals(name)) return DataTypes.TEXT;
+			throw new UnsupportedOperationException(name);
+		});
+		ColumnDefinitions columns = proxy(ColumnDefinitions.class, (name, args) -> {
+			if ("get".equals(name)) return column;
+			throw new UnsupportedOperationException(name);
+		});
+
+		return proxy(AsyncResultSet.class, (name, args) -> switch (name)
+		{
+			case "one" -> row;
+			case "currentPage" -> List.of(row);
+			case "hasMorePages" -> false;
+			case "getColumnDefinitions" -> columns;
+			default -> throw new UnsupportedOperationException(name + " for " + cql);
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private <P> P proxy(Class<P> type, Handler handler)
+	{
+		return (P) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+			(proxy, method, args) -> handler.handle(method.getName(), args));
+	}
+
+	private interface Handler
+	{
+		Object handle(String name, Object[] args);
+	}
+}
@@ -0,0 +1,83 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class ConcurrencyLimiterTest
+{
+	private static final Executor DELAYED = CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS);
+
+	@Test
+	public void shouldNeverExceedMaxConcurrency()
+	{
+		List<Integer> items = IntStream.range(0, 200).boxed().toList();
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		AtomicInteger processed = new AtomicInteger();
+
+		ConcurrencyLimiter.forEach(items, 4, i -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			return CompletableFuture.runAsync(() -> {
+				inFlight.decrementAndGet();
+				processed.incrementAndGet();
+			}, DELAYED);
+		}).join();
+
+		assertEquals(200, processed.get());
+		assertTrue(maxInFlight.get() <= 4);
+	}
+
+	@Test
+	public void shouldProcessCompletedStagesWithoutRecursion()
+	{
+		List<Integer> items = IntStream.range(0, 100_000).boxed().toList();
+		AtomicInteger processed = new AtomicInteger();
+
+		ConcurrencyLimiter.forEach(items, 2, i -> {
+			processed.incrementAndGet();
+			return CompletableFuture.completedFuture(i);
+		}).join();
+
+		assertEquals(100_000, processed.get());
+	}
+
+	@Test
+	public void shouldFailOnFirstFailure()
+	{
+		List<Integer> items = IntStream.range(0, 100).boxed().toList();
+		AtomicInteger started = new AtomicInteger();
+
+		try
+		{
+			ConcurrencyLimiter.forEach(items, 1, i -> {
+				started.incrementAndGet();
+				if (i == 10) return CompletableFuture.failedFuture(new IllegalStateException("boom"));
+				return CompletableFuture.completedFuture(i);
+			}).join();
+			fail("Expected failure");
+		}
+		catch (CompletionException e)
+		{
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		assertEquals(11, started.get());
+	}
+
+	@Test
+	public void shouldCompleteOnEmpty()
+	{
+		ConcurrencyLimiter.forEach(List.of(), 8, i -> CompletableFuture.completedFuture(i)).join();
+	}
+}
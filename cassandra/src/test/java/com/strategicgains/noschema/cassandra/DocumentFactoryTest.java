@@ -1,17 +1,22 @@
 package com.strategicgains.noschema.cassandra;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.datastax.oss.driver.api.core.cql.Row;
 import com.strategicgains.noschema.Identifier;
 import com.strategicgains.noschema.cassandra.document.CassandraDocumentFactory;
 import com.strategicgains.noschema.cassandra.key.KeyDefinitionParser;
@@ -66,6 +71,58 @@ public class DocumentFactoryTest
 		makeFlowerAssertions(id, accountId, createdAt, updatedAt, deserialized);
 	}
 
+	@Test
+	public void shouldDecodeFromBufferSlices()
+	throws KeyDefinitionException, InvalidIdentifierException
+	{
+		CassandraDocumentFactory<Flower> factory = new CassandraDocumentFactory<>(KeyDefinitionParser.parse("id:UUID"), CODEC);
+		byte[] serialized = factory.asDocument(flower).getObject();
+
+		// The payload sits at a non-zero offset, as it does within a driver response frame.
+		ByteBuffer heap = ByteBuffer.allocate(serialized.length + 16).position(8).put(serialized).position(8).limit(8 + serialized.length);
+		ByteBuffer direct = ByteBuffer.allocateDirect(serialized.length + 16).position(8).put(serialized).position(8).limit(8 + serialized.length);
+
+		for (ByteBuffer buffer : Arrays.asList(heap.slice(8, serialized.length), heap, direct))
+		{
+			int position = buffer.position();
+			Document document = new Document(Flower.class);
+			document.setObject(buffer);
+			assertEquals(serialized.length, document.getObjectSize());
+			makeFlowerAssertions(id, accountId, createdAt, updatedAt, factory.asPojo(document));
+			assertTrue(Arrays.equals(serialized, document.getObject()));
+			assertEquals(position, buffer.position());
+		}
+	}
+
+	@Test
+	public void shouldReadHeaderWithoutObject()
+	throws KeyDefinitionException
+	{
+		CassandraDocumentFactory<Flower> factory = new CassandraDocumentFactory<>(KeyDefinitionParser.parse("(account_id:UUID), name:text"), CODEC);
+		Map<String, Object> columns = Map.of(
+			"account_id", accountId,
+			"name", "rose",
+			"type", Flower.class.getName(),
+			"metadata", Map.of("source", "test"),
+			"created_at", createdAt.toInstant(),
+			"updated_at", updatedAt.toInstant());
+		Row row = (Row) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Row.class },
+			(proxy, method, args) -> switch (method.getName())
+			{
+				case "getObject", "getString", "getInstant", "getMap" -> columns.get(args[0]);
+				default -> throw new UnsupportedOperationException(method.getName());
+			});
+
+		Document header = factory.asHeader(row);
+
+		assertEquals(new Identifier(accountId, "rose"), header.getIdentifier());
+		assertFalse(header.hasObject());
+		assertEquals(Flower.class.getName(), header.getType());
+		assertEquals("test", header.getMetadata().get("source"));
+		assertEquals(createdAt, header.getCreatedAt());
+		assertEquals(updatedAt, header.getUpdatedAt());
+	}
+
 	private void makeDocumentAssertions(Identifier id, Document document)
 	{
 		assertEquals(id, document.getIdentifier());
@@ -0,0 +1,46 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.document.Document;
+
+public class LazyEntityTest
+{
+	@Test
+	public void shouldDecodeOnceOnFirstGet()
+	{
+		Identifier id = new Identifier(UUID.randomUUID());
+		Document document = new Document(new byte[] {1, 2, 3}, Flower.class);
+		document.setIdentifier(id);
+		document.setMetadata(Map.of("source", "test"));
+		Flower flower = new Flower(UUID.randomUUID(), "rose", true, 1.0f, Arrays.asList("red"));
+		AtomicInteger decodes = new AtomicInteger();
+
+		LazyEntity<Flower> lazy = new LazyEntity<>(document, d -> {
+			decodes.incrementAndGet();
+			return flower;
+		});
+
+		assertEquals(id, lazy.getIdentifier());
+		assertEquals("test", lazy.getMetadata().get("source"));
+		assertEquals(Flower.class.getName(), lazy.getType());
+		assertFalse(lazy.isDecoded());
+		assertEquals(0, decodes.get());
+
+		assertSame(flower, lazy.get());
+		assertSame(flower, lazy.get());
+		assertTrue(lazy.isDecoded());
+		assertEquals(1, decodes.get());
+	}
+}
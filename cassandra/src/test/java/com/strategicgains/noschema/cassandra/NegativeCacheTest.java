@@ -0,0 +1,44 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.strategicgains.noschema.Identifier;
+
+public class NegativeCacheTest
+{
+	@Test
+	public void shouldRememberAbsenceByTable()
+	{
+		NegativeCache cache = new NegativeCache(100, Duration.ofSeconds(30));
+		Identifier id = new Identifier(UUID.randomUUID());
+
+		assertFalse(cache.isAbsent("flowers", id));
+		cache.markAbsent("flowers", id);
+		assertTrue(cache.isAbsent("flowers", id));
+		assertFalse(cache.isAbsent("flowers_by_name", id));
+
+		cache.invalidate("flowers", id);
+		assertFalse(cache.isAbsent("flowers", id));
+	}
+
+	@Test
+	public void shouldNotRememberAbsenceFoundBeforeAnInvalidation()
+	{
+		NegativeCache cache = new NegativeCache(100, Duration.ofSeconds(30));
+		Identifier id = new Identifier(UUID.randomUUID());
+		long generation = cache.generation();
+		cache.invalidate("flowers", id);
+
+		cache.markAbsent("flowers", id, generation);
+		assertFalse(cache.isAbsent("flowers", id));
+
+		cache.markAbsent("flowers", id, cache.generation());
+		assertTrue(cache.isAbsent("flowers", id));
+	}
+}
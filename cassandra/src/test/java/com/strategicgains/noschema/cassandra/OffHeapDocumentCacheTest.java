@@ -0,0 +1,107 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.document.Document;
+
+public class OffHeapDocumentCacheTest
+{
+	@Test
+	public void shouldRoundTripDocuments()
+	{
+		OffHeapDocumentCache cache = new OffHeapDocumentCache(1024 * 1024, 64 * 1024);
+		Identifier id = new Identifier(UUID.randomUUID(), "rose");
+		Document document = new Document(new byte[] {1, 2, 3, 4}, Flower.class);
+		document.setMetadata(Map.of("source", "test"));
+		document.setCreatedAt(new Date(1648598130248L));
+		document.setUpdatedAt(new Date(1648598130249L));
+
+		cache.put("flowers", id, document);
+		Document cached = cache.get("flowers", id);
+
+		assertNotNull(cached);
+		assertArrayEquals(document.getObject(), cached.getObject());
+		assertEquals(Flower.class.getName(), cached.getType());
+		assertEquals("test", cached.getMetadata().get("source"));
+		assertEquals(document.getCreatedAt(), cached.getCreatedAt());
+		assertEquals(document.getUpdatedAt(), cached.getUpdatedAt());
+		assertNull(cache.get("flowers_by_name", id));
+		assertEquals(1, cache.hitCount());
+		assertEquals(1, cache.missCount());
+
+		cache.invalidate("flowers", id);
+		assertNull(cache.get("flowers", id));
+	}
+
+	@Test
+	public void shouldEvictOldestSlab()
+	{
+		// Two slabs, each with room for two documents of about 130 encoded bytes.
+		OffHeapDocumentCache cache = new OffHeapDocumentCache(600, 300);
+
+		for (int i = 0; i < 5; i++)
+		{
+			cache.put("flowers", new Identifier(i), document(60));
+		}
+
+		assertNull(cache.get("flowers", new Identifier(0)));
+		assertNull(cache.get("flowers", new Identifier(1)));
+		assertNotNull(cache.get("flowers", new Identifier(2)));
+		assertNotNull(cache.get("flowers", new Identifier(4)));
+		assertEquals(2, cache.evictionCount());
+		assertEquals(3, cache.size());
+		assertEquals(600, cache.allocatedBytes());
+	}
+
+	@Test
+	public void shouldNotCacheDocumentsLargerThanASlab()
+	{
+		OffHeapDocumentCache cache = new OffHeapDocumentCache(1024, 256);
+		cache.put("flowers", new Identifier(1), document(256));
+
+		assertNull(cache.get("flowers", new Identifier(1)));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void shouldNotCacheDocumentsReadBeforeAnInvalidation()
+	{
+		OffHeapDocumentCache cache = new OffHeapDocumentCache(1024 * 1024, 64 * 1024);
+		long generation = cache.generation();
+		cache.invalidate("flowers", new Identifier(1));
+
+		assertFalse(cache.put("flowers", new Identifier(1), document(4), generation));
+		assertNull(cache.get("flowers", new Identifier(1)));
+		assertTrue(cache.put("flowers", new Identifier(1), document(4), cache.generation()));
+		assertNotNull(cache.get("flowers", new Identifier(1)));
+	}
+
+	@Test
+	public void shouldExpireDocuments()
+	throws InterruptedException
+	{
+		OffHeapDocumentCache cache = new OffHeapDocumentCache(1024 * 1024, 64 * 1024, Duration.ofMillis(10));
+		cache.put("flowers", new Identifier(1), document(4));
+		Thread.sleep(20);
+
+		assertNull(cache.get("flowers", new Identifier(1)));
+	}
+
+	private Document document(int size)
+	{
+		return new Document(new byte[size], Flower.class);
+	}
+}
@@ -0,0 +1,134 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.strategicgains.noschema.exception.StorageException;
+
+public class PagingIteratorTest
+{
+	private AtomicInteger fetches = new AtomicInteger();
+
+	@Test
+	public void shouldIterateAllPagesInOrder()
+	{
+		List<CompletableFuture<AsyncResultSet>> pages = pages(3);
+		completeAll(pages, 3);
+
+		PagingIterator<Integer> iterator = new PagingIterator<>(pages.get(0), row -> row.getInt(0), 2);
+		List<Integer> values = new ArrayList<>();
+		iterator.forEachRemaining(values::add);
+
+		assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8), values);
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	public void shouldBoundPagesInMemory()
+	{
+		List<CompletableFuture<AsyncResultSet>> pages = pages(3);
+		pages.get(0).complete(page(0, 2, true, pages.get(1)));
+
+		PagingIterator<Integer> iterator = new PagingIterator<>(pages.get(0), row -> row.getInt(0), 2);
+		assertEquals(Integer.valueOf(0), iterator.next());
+		assertEquals(1, fetches.get());
+
+		// The second page arriving doesn't request the third while the first is still being iterated.
+		pages.get(1).complete(page(2, 2, true, pages.get(2)));
+		assertEquals(1, fetches.get());
+
+		assertEquals(Integer.valueOf(1), iterator.next());
+		assertEquals(Integer.valueOf(2), iterator.next());
+		assertEquals(2, fetches.get());
+
+		pages.get(2).complete(page(4, 2, false, null));
+		assertEquals(Integer.valueOf(3), iterator.next());
+		assertEquals(Integer.valueOf(4), iterator.next());
+		assertEquals(Integer.valueOf(5), iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void shouldStopPagingOnClose()
+	{
+		CompletableFuture<AsyncResultSet> first = new CompletableFuture<>();
+		PagingIterator<Integer> iterator = new PagingIterator<>(first, row -> row.getInt(0), 3);
+		iterator.close();
+
+		first.complete(page(0, 2, true, new CompletableFuture<>()));
+		assertFalse(iterator.hasNext());
+		assertEquals(0, fetches.get());
+	}
+
+	@Test
+	public void shouldReportFailureAsStorageException()
+	{
+		CompletableFuture<AsyncResultSet> first = CompletableFuture.failedFuture(new IllegalStateException("boom"));
+		PagingIterator<Integer> iterator = new PagingIterator<>(first, row -> row.getInt(0), 2);
+
+		try
+		{
+			iterator.hasNext();
+			fail("Expected StorageException");
+		}
+		catch (StorageException e)
+		{
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	private List<CompletableFuture<AsyncResultSet>> pages(int count)
+	{
+		List<CompletableFuture<AsyncResultSet>> pages = new ArrayList<>();
+		for (int i = 0; i < count; i++) pages.add(new CompletableFuture<>());
+		return pages;
+	}
+
+	private void completeAll(List<CompletableFuture<AsyncResultSet>> pages, int size)
+	{
+		for (int i = pages.size() - 1; i >= 0; i--)
+		{
+			boolean hasMore = (i < pages.size() - 1);
+			pages.set(i, CompletableFuture.completedFuture(page(i * size, size, hasMore, hasMore ? pages.get(i + 1) : null)));
+		}
+	}
+
+	private AsyncResultSet page(int start, int size, boolean hasMorePages, CompletableFuture<AsyncResultSet> next)
+	{
+		List<Row> rows = new ArrayList<>();
+		for (int i = start; i < start + size; i++) rows.add(row(i));
+
+		return (AsyncResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { AsyncResultSet.class },
+			(proxy, method, args) -> switch (method.getName())
+			{
+				case "currentPage" -> rows;
+				case "hasMorePages" -> hasMorePages;
+				case "fetchNextPage" -> {
+					fetches.incrementAndGet();
+					yield next;
+				}
+				default -> throw new UnsupportedOperationException(method.getName());
+			});
+	}
+
+	private Row row(int value)
+	{
+		return (Row) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Row.class },
+			(proxy, method, args) -> {
+				if ("getInt".equals(method.getName())) return value;
+				throw new UnsupportedOperationException(method.getName());
+			});
+	}
+}
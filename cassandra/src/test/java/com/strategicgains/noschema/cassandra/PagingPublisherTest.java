@@ -0,0 +1,162 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.strategicgains.noschema.exception.StorageException;
+
+public class PagingPublisherTest
+{
+	private AtomicInteger queries = new AtomicInteger();
+	private AtomicInteger fetches = new AtomicInteger();
+
+	@Test
+	public void shouldPageOnlyOnDemand()
+	{
+		AsyncResultSet third = page(6, 3, false, null);
+		AsyncResultSet second = page(3, 3, true, third);
+		AsyncResultSet first = page(0, 3, true, second);
+		PagingPublisher<Integer> publisher = new PagingPublisher<>(() -> query(first), row -> row.getInt(0));
+		TestSubscriber subscriber = new TestSubscriber();
+
+		publisher.subscribe(subscriber);
+		assertEquals(0, queries.get());
+
+		subscriber.subscription.request(2);
+		assertEquals(List.of(0, 1), subscriber.items);
+		assertEquals(1, queries.get());
+		assertEquals(0, fetches.get());
+
+		subscriber.subscription.request(2);
+		assertEquals(List.of(0, 1, 2, 3), subscriber.items);
+		assertEquals(1, fetches.get());
+
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8), subscriber.items);
+		assertEquals(2, fetches.get());
+		assertTrue(subscriber.isComplete);
+	}
+
+	@Test
+	public void shouldStopPagingOnCancel()
+	{
+		AsyncResultSet first = page(0, 3, true, page(3, 3, false, null));
+		PagingPublisher<Integer> publisher = new PagingPublisher<>(() -> query(first), row -> row.getInt(0));
+		TestSubscriber subscriber = new TestSubscriber();
+
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(3);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(3);
+
+		assertEquals(List.of(0, 1, 2), subscriber.items);
+		assertEquals(0, fetches.get());
+		assertFalse(subscriber.isComplete);
+	}
+
+	@Test
+	public void shouldPublishFailureAsStorageException()
+	{
+		PagingPublisher<Integer> publisher = new PagingPublisher<>(
+			() -> CompletableFuture.failedFuture(new IllegalStateException("boom")),
+			row -> row.getInt(0));
+		TestSubscriber subscriber = new TestSubscriber();
+
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(1);
+
+		assertTrue(subscriber.error instanceof StorageException);
+		assertTrue(subscriber.error.getCause() instanceof IllegalStateException);
+	}
+
+	@Test
+	public void shouldRejectNonPositiveRequest()
+	{
+		PagingPublisher<Integer> publisher = new PagingPublisher<>(() -> query(page(0, 1, false, null)), row -> row.getInt(0));
+		TestSubscriber subscriber = new TestSubscriber();
+
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(0);
+
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+		assertEquals(0, queries.get());
+	}
+
+	private CompletableFuture<AsyncResultSet> query(AsyncResultSet first)
+	{
+		queries.incrementAndGet();
+		return CompletableFuture.completedFuture(first);
+	}
+
+	private AsyncResultSet page(int start, int size, boolean hasMorePages, AsyncResultSet next)
+	{
+		List<Row> rows = new ArrayList<>();
+		for (int i = start; i < start + size; i++) rows.add(row(i));
+
+		return (AsyncResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { AsyncResultSet.class },
+			(proxy, method, args) -> switch (method.getName())
+			{
+				case "currentPage" -> rows;
+				case "hasMorePages" -> hasMorePages;
+				case "fetchNextPage" -> {
+					fetches.incrementAndGet();
+					yield CompletableFuture.completedFuture(next);
+				}
+				default -> throw new UnsupportedOperationException(method.getName());
+			});
+	}
+
+	private Row row(int value)
+	{
+		return (Row) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Row.class },
+			(proxy, method, args) -> {
+				if ("getInt".equals(method.getName())) return value;
+				throw new UnsupportedOperationException(method.getName());
+			});
+	}
+
+	private static class TestSubscriber
+	implements Flow.Subscriber<Integer>
+	{
+		private Flow.Subscription subscription;
+		private List<Integer> items = new ArrayList<>();
+		private Throwable error;
+		private boolean isComplete;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription)
+		{
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(Integer item)
+		{
+			items.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable)
+		{
+			this.error = throwable;
+		}
+
+		@Override
+		public void onComplete()
+		{
+			this.isComplete = true;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class ParallelDecoderTest
+{
+	@Test
+	public void shouldPreserveOrder()
+	{
+		List<Integer> items = IntStream.range(0, 1000).boxed().toList();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try
+		{
+			List<String> decoded = ParallelDecoder.decode(items, executor, 7, String::valueOf).join();
+
+			assertEquals(items.size(), decoded.size());
+
+			for (int i = 0; i < items.size(); i++)
+			{
+				assertEquals(String.valueOf(i), decoded.get(i));
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldFailOnDecoderFailure()
+	{
+		try
+		{
+			ParallelDecoder.decode(List.of(1, 2, 3), Runnable::run, 1, i -> {
+				if (i == 2) throw new IllegalStateException("bad row");
+				return i;
+			}).join();
+		}
+		catch (CompletionException e)
+		{
+			assertTrue(e.getCause() instanceof IllegalStateException);
+			return;
+		}
+
+		throw new AssertionError("Expected a failure");
+	}
+}
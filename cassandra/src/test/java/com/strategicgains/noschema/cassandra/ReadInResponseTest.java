@@ -0,0 +1,51 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.strategicgains.noschema.Identifier;
+
+public class ReadInResponseTest
+{
+	@Test
+	public void shouldKeepRequestOrderAndReportMissing()
+	{
+		Flower a = flower("a");
+		Flower b = flower("b");
+		Identifier missing = new Identifier(UUID.randomUUID());
+		List<Identifier> ids = Arrays.asList(b.getIdentifier(), missing, a.getIdentifier());
+
+		// Found entities arrive in completion order.
+		ReadInResponse<Flower> response = new ReadInResponse<>(new LinkedHashSet<>(ids), Map.of(a.getIdentifier(), a, b.getIdentifier(), b));
+
+		assertEquals(Arrays.asList(b, a), response.items());
+		assertEquals(Arrays.asList(b.getIdentifier(), a.getIdentifier()), List.copyOf(response.asMap().keySet()));
+		assertTrue(response.hasMissing());
+		assertEquals(List.of(missing), response.missing());
+		assertEquals(a, response.get(a.getIdentifier()));
+	}
+
+	@Test
+	public void shouldHandleEmpty()
+	{
+		ReadInResponse<Flower> response = new ReadInResponse<>(new LinkedHashSet<>(), Map.of());
+
+		assertFalse(response.hasItems());
+		assertFalse(response.hasMissing());
+		assertEquals(0, response.size());
+	}
+
+	private Flower flower(String name)
+	{
+		return new Flower(UUID.randomUUID(), name, true, 1.0f, Arrays.asList("red"));
+	}
+}
@@ -0,0 +1,139 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+public class TokenRangeScanTest
+{
+	@Test
+	public void shouldSplitTheWholeRing()
+	{
+		List<ScanCheckpoint> ranges = ScanCheckpoint.split(3);
+
+		assertEquals(3, ranges.size());
+		assertEquals(Long.MIN_VALUE, ranges.get(0).startToken());
+		assertEquals(Long.MAX_VALUE, ranges.get(2).endToken());
+
+		for (int i = 1; i < ranges.size(); i++)
+		{
+			assertEquals(ranges.get(i - 1).endToken(), ranges.get(i).startToken());
+			assertTrue(ranges.get(i).startToken() < ranges.get(i).endToken());
+		}
+
+		assertNull(ranges.get(0).cursor());
+		assertFalse(ranges.get(0).isComplete());
+	}
+
+	@Test
+	public void shouldScanEveryRangeAndReportCheckpoints()
+	{
+		// Every range has two pages of two rows.
+		List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+		List<ScanCheckpoint> checkpoints = Collections.synchronizedList(new ArrayList<>());
+
+		TokenRangeScan<Integer> scan = new TokenRangeScan<>(session(), this::statement, row -> row.getInt(0))
+			.withSplits(4)
+			.withParallelism(2)
+			.withExecutor(Runnable::run)
+			.onCheckpoint(checkpoints::add);
+		scan.forEach(values::add).join();
+
+		assertEquals(16, values.size());
+		// One for each range when the scan starts, then one after each page.
+		assertEquals(12, checkpoints.size());
+		assertEquals(4, checkpoints.stream().filter(c -> !c.isComplete() && c.cursor() == null).count());
+		assertEquals(4, checkpoints.stream().filter(ScanCheckpoint::isComplete).count());
+		assertEquals(4, checkpoints.stream().filter(c -> "0x01".equals(c.cursor())).count());
+	}
+
+	@Test
+	public void shouldResumeFromCheckpoints()
+	{
+		List<ScanCheckpoint> ranges = ScanCheckpoint.split(2);
+		List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+
+		new TokenRangeScan<>(session(), this::statement, row -> row.getInt(0))
+			.resumeFrom(List.of(ranges.get(0).next(null), ranges.get(1).next("0x01")))
+			.withExecutor(Runnable::run)
+			.forEach(values::add)
+			.join();
+
+		// Only the second page of the second range remains.
+		assertEquals(List.of(2, 3), values);
+	}
+
+	private final Map<BoundStatement, ScanCheckpoint> ranges = new ConcurrentHashMap<>();
+
+	private BoundStatement statement(ScanCheckpoint range)
+	{
+		BoundStatement statement = (BoundStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BoundStatement.class },
+			(proxy, method, args) -> {
+				if ("toString".equals(method.getName())) return range.toString();
+				if ("hashCode".equals(method.getName())) return System.identityHashCode(proxy);
+				if ("equals".equals(method.getName())) return proxy == args[0];
+				throw new UnsupportedOperationException(method.getName());
+			});
+		ranges.put(statement, range);
+		return statement;
+	}
+
+	private CqlSession session()
+	{
+		return (CqlSession) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { CqlSession.class },
+			(proxy, method, args) -> {
+				if (!"executeAsync".equals(method.getName())) throw new UnsupportedOperationException(method.getName());
+
+				ScanCheckpoint range = ranges.get(args[0]);
+				AsyncResultSet second = page(2, false, null);
+				return CompletableFuture.completedFuture(range.cursor() == null ? page(0, true, second) : second);
+			});
+	}
+
+	private AsyncResultSet page(int start, boolean hasMorePages, AsyncResultSet next)
+	{
+		List<Row> rows = List.of(row(start), row(start + 1));
+		ExecutionInfo info = (ExecutionInfo) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ExecutionInfo.class },
+			(proxy, method, args) -> {
+				if ("getPagingState".equals(method.getName())) return ByteBuffer.wrap(new byte[] {1});
+				throw new UnsupportedOperationException(method.getName());
+			});
+
+		return (AsyncResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { AsyncResultSet.class },
+			(proxy, method, args) -> switch (method.getName())
+			{
+				case "currentPage" -> rows;
+				case "hasMorePages" -> hasMorePages;
+				case "fetchNextPage" -> CompletableFuture.completedFuture(next);
+				case "getExecutionInfo" -> info;
+				default -> throw new UnsupportedOperationException(method.getName());
+			});
+	}
+
+	private Row row(int value)
+	{
+		return (Row) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Row.class },
+			(proxy, method, args) -> {
+				if ("getInt".equals(method.getName())) return value;
+				throw new UnsupportedOperationException(method.getName());
+			});
+	}
+}
@@ -0,0 +1,125 @@
+package com.strategicgains.noschema.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import com.strategicgains.noschema.Identifier;
+import com.strategicgains.noschema.exception.StorageException;
+
+public class WriteBehindBufferTest
+{
+	private final List<List<Flower>> writes = Collections.synchronizedList(new ArrayList<>());
+
+	@Test
+	public void shouldKeepLatestStatePerIdentifier()
+	{
+		UUID id = UUID.randomUUID();
+
+		try (WriteBehindBuffer<Flower> buffer = buffer(100, list -> CompletableFuture.completedFuture(null)))
+		{
+			buffer.upsert(flower(id, "bud"));
+			buffer.upsert(flower(id, "bloom"));
+			buffer.upsert(flower(UUID.randomUUID(), "rose"));
+			buffer.upsert(flower(id, "wilted"));
+			assertEquals(2, buffer.size());
+		}
+
+		assertEquals(1, writes.size());
+		assertEquals(2, writes.get(0).size());
+		assertEquals("wilted", writes.get(0).get(0).getName());
+		assertEquals("rose", writes.get(0).get(1).getName());
+	}
+
+	@Test
+	public void shouldBlockWhenFull()
+	throws InterruptedException
+	{
+		CompletableFuture<Void> write = new CompletableFuture<>();
+		CountDownLatch added = new CountDownLatch(1);
+
+		try (WriteBehindBuffer<Flower> buffer = buffer(2, list -> write))
+		{
+			// Half full, so this is flushed at once and stays in flight until the write completes.
+			buffer.upsert(flower(UUID.randomUUID(), "a"));
+			buffer.upsert(flower(UUID.randomUUID(), "b"));
+
+			Thread producer = new Thread(() -> {
+				buffer.upsert(flower(UUID.randomUUID(), "c"));
+				added.countDown();
+			});
+			producer.start();
+
+			assertFalse(added.await(200, TimeUnit.MILLISECONDS));
+			write.complete(null);
+			assertTrue(added.await(5, TimeUnit.SECONDS));
+		}
+
+		assertEquals(3, writes.stream().mapToInt(List::size).sum());
+	}
+
+	@Test
+	public void shouldThrowUnhandledBackgroundFailureOnFlush()
+	{
+		try (WriteBehindBuffer<Flower> buffer = buffer(2, list -> (writes.size() == 1 ? CompletableFuture.failedFuture(new IllegalStateException("down")) : CompletableFuture.completedFuture(null))))
+		{
+			// Half full, so this is flushed, and fails, in the background.
+			buffer.upsert(flower(UUID.randomUUID(), "a"));
+
+			try
+			{
+				buffer.flush();
+				fail("Background failure was lost");
+			}
+			catch (StorageException e)
+			{
+				assertEquals("down", e.getCause().getMessage());
+			}
+
+			// Reported once only.
+			buffer.flush();
+		}
+	}
+
+	@Test
+	public void shouldGiveBackgroundFailureToErrorHandler()
+	{
+		List<Throwable> failures = new ArrayList<>();
+
+		try (WriteBehindBuffer<Flower> buffer = buffer(2, list -> CompletableFuture.failedFuture(new IllegalStateException("down"))))
+		{
+			buffer.onError(failures::add);
+			buffer.upsert(flower(UUID.randomUUID(), "a"));
+			buffer.flush();
+		}
+
+		assertEquals(1, failures.size());
+	}
+
+	private WriteBehindBuffer<Flower> buffer(int maxSize, Function<List<Flower>, CompletableFuture<?>> result)
+	{
+		return WriteBehindBuffer.<Flower>create(list -> {
+			writes.add(list);
+			return result.apply(list);
+		}, flower -> new Identifier(flower.getId()), maxSize, Duration.ofHours(1));
+	}
+
+	private Flower flower(UUID id, String name)
+	{
+		return new Flower(id, name, true, 1.0f, Arrays.asList("red"));
+	}
+}
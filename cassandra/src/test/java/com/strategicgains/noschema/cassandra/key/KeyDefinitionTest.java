@@ -8,6 +8,7 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -61,6 +62,30 @@ public class KeyDefinitionTest
 		assertTrue(kd.isValid());
 	}
 
+	@Test
+	public void shouldCreateClusteringInClause()
+	throws KeyDefinitionException
+	{
+		KeyDefinition kd = new KeyDefinition();
+		kd.addPartitionKey(new KeyComponent("alpha", DataTypes.UUID))
+			.addClusteringKey(new ClusteringKeyComponent("chi", DataTypes.TIMESTAMP, Ordering.DESC));
+		assertEquals("alpha = ? and chi in ?", kd.asClusteringInClause());
+
+		kd.addClusteringKey(new ClusteringKeyComponent("delta", DataTypes.INTEGER, Ordering.ASC));
+		assertEquals("alpha = ? and chi = ? and delta in ?", kd.asClusteringInClause());
+	}
+
+	@Test
+	public void shouldCreateTokenRangeClause()
+	throws KeyDefinitionException
+	{
+		KeyDefinition kd = new KeyDefinition();
+		kd.addPartitionKey(new KeyComponent("alpha", DataTypes.UUID))
+			.addPartitionKey(new KeyComponent("beta", DataTypes.TEXT))
+			.addClusteringKey(new ClusteringKeyComponent("chi", DataTypes.TIMESTAMP, Ordering.DESC));
+		assertEquals("token(alpha,beta) > ? and token(alpha,beta) <= ?", kd.asTokenRangeClause());
+	}
+
 	@Test
 	public void shouldHandleComplexWithDefaultSort()
 	throws KeyDefinitionException
@@ -242,4 +267,46 @@ public class KeyDefinitionTest
 		assertEquals(id, components.get(2));
 		assertEquals(2022, components.get(3));
 	}
+
+	@Test
+	public void shouldExtractFromSubclassWithDifferentLayoutFirst()
+	throws KeyDefinitionException, InvalidIdentifierException
+	{
+		KeyDefinition defn = KeyDefinitionParser.parse("(account.id as account_id:uuid), name:text");
+		UUID accountId = UUID.fromString("a87d3bff-6997-4739-ab4e-ded0cc85700f");
+		ShadowedFlower shadowed = new ShadowedFlower();
+		shadowed.setAccountId(accountId);
+		Flower flower = new Flower(null, "rose", true, 3.25f, Arrays.asList("red"));
+		flower.setAccountId(accountId);
+
+		assertEquals(new Identifier(accountId, "shadowed"), defn.identifier(shadowed));
+		assertEquals(new Identifier(accountId, "rose"), defn.identifier(flower));
+		assertEquals(new Identifier(accountId, "shadowed"), defn.identifier(shadowed));
+	}
+
+	@Test
+	public void shouldExtractConcurrently()
+	throws KeyDefinitionException
+	{
+		KeyDefinition defn = KeyDefinitionParser.parse("(account.id as account_id:uuid), name:text");
+		UUID accountId = UUID.fromString("a87d3bff-6997-4739-ab4e-ded0cc85700f");
+
+		long matches = IntStream.range(0, 10000).parallel()
+			.filter(i -> {
+				Flower flower = (i % 2 == 0 ? new ShadowedFlower() : new Flower(null, "rose", true, 3.25f, Arrays.asList("red")));
+				flower.setAccountId(accountId);
+				String expected = (i % 2 == 0 ? "shadowed" : "rose");
+				return new Identifier(accountId, expected).equals(defn.identifier(flower));
+			})
+			.count();
+
+		assertEquals(10000, matches);
+	}
+
+	private static class ShadowedFlower
+	extends Flower
+	{
+		@SuppressWarnings("unused")
+		private String name = "shadowed";
+	}
 }
@@ -0,0 +1,142 @@
+/*
+    Copyright 2024-2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Defines the basic CRUD operations for a Repository of entities without blocking the calling thread.
+ * Mirrors Repository, but each operation returns a CompletionStage that completes when the
+ * database has responded.
+ *
+ * Database failures are reported by completing the stage exceptionally with a StorageException
+ * (or one of its subclasses, such as DuplicateItemException or ItemNotFoundException). Entities that
+ * can't be serialized or identified may be rejected immediately by throwing, before any I/O is started.
+ *
+ * @param <T> the type of entity this Repository manages.
+ * @see Repository
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public interface AsyncRepository<T extends Identifiable>
+{
+	/**
+	 * Store a new entity in the database as a Document.
+	 *
+	 * @param entity the entity to create.
+	 * @return a CompletionStage of the created entity, failing with DuplicateItemException if it already exists.
+	 */
+	CompletionStage<T> createAsync(T entity);
+
+	/**
+	 * Store many new entities in the database. Implementations are free to group
+	 * the writes for efficiency, so the entities are not created atomically.
+	 * The default implementation simply creates each entity in turn.
+	 *
+	 * @param entities the entities to create.
+	 * @return a CompletionStage of the created entities.
+	 */
+	default CompletionStage<List<T>> createAllAsync(Collection<T> entities)
+	{
+		return inTurn(entities, this::createAsync);
+	}
+
+	/**
+	 * Remove an entity from the database by the given identifier.
+	 *
+	 * @param id the identifier of the entity to delete.
+	 * @return a CompletionStage that completes when the entity is deleted, failing with ItemNotFoundException if it doesn't exist.
+	 */
+	CompletionStage<Void> deleteAsync(Identifier id);
+
+	/**
+	 * Check to see if the given identifier exists in the database.
+	 *
+	 * @param id the identifier to check.
+	 * @return a CompletionStage of true if the identifier exists, otherwise false.
+	 */
+	CompletionStage<Boolean> existsAsync(Identifier id);
+
+	/**
+	 * Retrieve an entity from the database using the given identifier.
+	 *
+	 * @param id An Identifier instance with values to use as the table keys.
+	 * @return a CompletionStage of the entity, failing with ItemNotFoundException if the identifier is not found.
+	 */
+	CompletionStage<T> readAsync(Identifier id);
+
+	/**
+	 * Read all given identifiers. Entities that are not found are not included in the result.
+	 *
+	 * @param ids the partition keys (identifiers) to select.
+	 * @return a CompletionStage of the entities found.
+	 */
+	CompletionStage<List<T>> readInAsync(List<Identifier> ids);
+
+	/**
+	 * Rewrite an entity to the database. The entity identifier must already exist.
+	 *
+	 * @param updated the new entity data.
+	 * @param original the original entity data, or null to have it read from the database.
+	 * @return a CompletionStage of the updated entity, failing with ItemNotFoundException if it doesn't exist.
+	 */
+	CompletionStage<T> updateAsync(T updated, T original);
+
+	/**
+	 * Write an entity to the database not caring whether it exists or not.
+	 *
+	 * @param entity the entity to write.
+	 * @return a CompletionStage of the written entity.
+	 */
+	CompletionStage<T> upsertAsync(T entity);
+
+	/**
+	 * Write many entities to the database not caring whether they exist or not.
+	 * Implementations are free to group the writes for efficiency, so the entities
+	 * are not written atomically. The default implementation simply upserts each
+	 * entity in turn.
+	 *
+	 * @param entities the entities to write.
+	 * @return a CompletionStage of the written entities.
+	 */
+	default CompletionStage<List<T>> upsertAllAsync(Collection<T> entities)
+	{
+		return inTurn(entities, this::upsertAsync);
+	}
+
+	/**
+	 * Apply the asynchronous operation to each entity, starting each one after the previous has completed.
+	 */
+	private CompletionStage<List<T>> inTurn(Collection<T> entities, Function<T, CompletionStage<T>> operation)
+	{
+		CompletionStage<List<T>> result = CompletableFuture.completedFuture(new ArrayList<>(entities.size()));
+
+		for (T entity : entities)
+		{
+			result = result.thenCompose(list -> operation.apply(entity).thenApply(written -> {
+				list.add(written);
+				return list;
+			}));
+		}
+
+		return result;
+	}
+}
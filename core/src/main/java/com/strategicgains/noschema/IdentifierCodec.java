@@ -0,0 +1,214 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import com.strategicgains.noschema.exception.InvalidIdentifierException;
+
+/**
+ * Encodes an Identifier into a compact, self-describing binary form and back again. Each component
+ * is written as a one-byte type tag followed by its fixed-size value (or a length-prefixed value for
+ * strings and decimals), so an encoded Identifier can be decoded without knowing its key definition
+ * and the decoded components have the same Java types as the originals.
+ * <p/>
+ * Supported component types are String, UUID, Instant, Date, Integer, Long, Float, Double, BigDecimal
+ * and Boolean.
+ * 
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public final class IdentifierCodec
+{
+	private static final byte VERSION = 1;
+
+	private static final byte STRING = 1;
+	private static final byte UUID_TYPE = 2;
+	private static final byte INSTANT = 3;
+	private static final byte DATE = 4;
+	private static final byte INTEGER = 5;
+	private static final byte LONG = 6;
+	private static final byte FLOAT = 7;
+	private static final byte DOUBLE = 8;
+	private static final byte DECIMAL = 9;
+	private static final byte BOOLEAN = 10;
+
+	private IdentifierCodec()
+	{
+		// Prevents instantiation.
+	}
+
+	/**
+	 * Encode the identifier as bytes.
+	 * 
+	 * @param id an Identifier.
+	 * @return the encoded identifier.
+	 * @throws InvalidIdentifierException if a component is of an unsupported type.
+	 */
+	public static byte[] encode(Identifier id)
+	throws InvalidIdentifierException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(sizeOf(id));
+		buffer.put(VERSION);
+		id.components().forEach(c -> put(c, buffer));
+		return buffer.array();
+	}
+
+	/**
+	 * Decode an identifier from the remaining bytes of the buffer. The buffer's position is not changed.
+	 * 
+	 * @param bytes a buffer holding an encoded identifier.
+	 * @return the decoded Identifier.
+	 * @throws InvalidIdentifierException if the bytes are not a valid encoded Identifier.
+	 */
+	public static Identifier decode(ByteBuffer bytes)
+	throws InvalidIdentifierException
+	{
+		ByteBuffer buffer = bytes.duplicate();
+
+		try
+		{
+			if (buffer.get() != VERSION) throw new InvalidIdentifierException("Unsupported identifier encoding");
+
+			Identifier id = new Identifier();
+
+			while (buffer.hasRemaining())
+			{
+				id.add(get(buffer));
+			}
+
+			return id;
+		}
+		catch (BufferUnderflowException e)
+		{
+			throw new InvalidIdentifierException("Truncated identifier encoding", e);
+		}
+	}
+
+	public static Identifier decode(byte[] bytes)
+	throws InvalidIdentifierException
+	{
+		return decode(ByteBuffer.wrap(bytes));
+	}
+
+	private static int sizeOf(Identifier id)
+	{
+		int size = 1;
+
+		for (Object component : id.components())
+		{
+			size += 1 + sizeOf(component);
+		}
+
+		return size;
+	}
+
+	private static int sizeOf(Object component)
+	{
+		if (component instanceof String s) return Integer.BYTES + s.getBytes(StandardCharsets.UTF_8).length;
+		if (component instanceof UUID) return Long.BYTES * 2;
+		if (component instanceof Instant) return Long.BYTES + Integer.BYTES;
+		if (component instanceof Date || component instanceof Long) return Long.BYTES;
+		if (component instanceof Integer) return Integer.BYTES;
+		if (component instanceof Float) return Float.BYTES;
+		if (component instanceof Double) return Double.BYTES;
+		if (component instanceof BigDecimal d) return Integer.BYTES * 2 + d.unscaledValue().toByteArray().length;
+		if (component instanceof Boolean) return 1;
+
+		throw new InvalidIdentifierException("Unsupported identifier component type: " + component.getClass().getName());
+	}
+
+	private static void put(Object component, ByteBuffer buffer)
+	{
+		if (component instanceof String s)
+		{
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			buffer.put(STRING).putInt(bytes.length).put(bytes);
+		}
+		else if (component instanceof UUID u)
+		{
+			buffer.put(UUID_TYPE).putLong(u.getMostSignificantBits()).putLong(u.getLeastSignificantBits());
+		}
+		else if (component instanceof Instant i)
+		{
+			buffer.put(INSTANT).putLong(i.getEpochSecond()).putInt(i.getNano());
+		}
+		else if (component instanceof Date d)
+		{
+			buffer.put(DATE).putLong(d.getTime());
+		}
+		else if (component instanceof Integer i)
+		{
+			buffer.put(INTEGER).putInt(i);
+		}
+		else if (component instanceof Long l)
+		{
+			buffer.put(LONG).putLong(l);
+		}
+		else if (component instanceof Float f)
+		{
+			buffer.put(FLOAT).putFloat(f);
+		}
+		else if (component instanceof Double d)
+		{
+			buffer.put(DOUBLE).putDouble(d);
+		}
+		else if (component instanceof BigDecimal d)
+		{
+			byte[] unscaled = d.unscaledValue().toByteArray();
+			buffer.put(DECIMAL).putInt(d.scale()).putInt(unscaled.length).put(unscaled);
+		}
+		else if (component instanceof Boolean b)
+		{
+			buffer.put(BOOLEAN).put((byte) (b.booleanValue() ? 1 : 0));
+		}
+	}
+
+	private static Object get(ByteBuffer buffer)
+	{
+		byte type = buffer.get();
+
+		switch(type)
+		{
+			case STRING:
+				byte[] string = new byte[buffer.getInt()];
+				buffer.get(string);
+				return new String(string, StandardCharsets.UTF_8);
+			case UUID_TYPE: return new UUID(buffer.getLong(), buffer.getLong());
+			case INSTANT: return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+			case DATE: return new Date(buffer.getLong());
+			case INTEGER: return buffer.getInt();
+			case LONG: return buffer.getLong();
+			case FLOAT: return buffer.getFloat();
+			case DOUBLE: return buffer.getDouble();
+			case DECIMAL:
+				int scale = buffer.getInt();
+				byte[] unscaled = new byte[buffer.getInt()];
+				buffer.get(unscaled);
+				return new BigDecimal(new BigInteger(unscaled), scale);
+			case BOOLEAN: return (buffer.get() != 0);
+			default:
+				throw new InvalidIdentifierException("Unsupported identifier component tag: " + type);
+		}
+	}
+}
@@ -15,6 +15,7 @@
 */
 package com.strategicgains.noschema;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.strategicgains.noschema.exception.DuplicateItemException;
@@ -44,6 +45,23 @@ public interface Repository<T extends Identifiable>
 	T create(T entity)
 	throws DuplicateItemException, InvalidIdentifierException, KeyDefinitionException, StorageException;
 
+	/**
+	 * Store many new entities in the database. Implementations are free to group
+	 * the writes for efficiency, so the entities are not created atomically.
+	 * The default implementation simply creates each entity in turn.
+	 * 
+	 * @param entities the entities to create.
+	 * @return the created entities.
+	 * @throws DuplicateItemException
+	 * @throws InvalidIdentifierException 
+	 * @throws KeyDefinitionException 
+	 */
+	default List<T> createAll(Collection<T> entities)
+	throws DuplicateItemException, InvalidIdentifierException, KeyDefinitionException, StorageException
+	{
+		return entities.stream().map(this::create).toList();
+	}
+
 	/**
 	 * Remove an entity from the database by the given identifier.
 	 * 
@@ -108,4 +126,21 @@ public interface Repository<T extends Identifiable>
 	 * @throws StorageException 
 	 */
 	T upsert(T entity);
+
+	/**
+	 * Write many entities to the database not caring whether they exist or not.
+	 * Implementations are free to group the writes for efficiency, so the entities
+	 * are not written atomically. The default implementation simply upserts each
+	 * entity in turn.
+	 * 
+	 * @param entities the entities to write.
+	 * @return the written entities.
+	 * @throws InvalidIdentifierException 
+	 * @throws KeyDefinitionException 
+	 * @throws StorageException 
+	 */
+	default List<T> upsertAll(Collection<T> entities)
+	{
+		return entities.stream().map(this::upsert).toList();
+	}
 }
\ No newline at end of file
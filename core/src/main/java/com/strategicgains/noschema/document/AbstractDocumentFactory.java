@@ -29,6 +29,10 @@ import com.strategicgains.noschema.exception.KeyDefinitionException;
  */
 public abstract class AbstractDocumentFactory<T>
 {
+	// Buffers larger than this are not retained between serializations, to bound per-thread memory.
+	private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+	private static final ThreadLocal<ByteBufferOutputStream> BUFFERS = ThreadLocal.withInitial(ByteBufferOutputStream::new);
+
 	private ObjectCodec<T> codec;
 
 	protected AbstractDocumentFactory(ObjectCodec<T> codec)
@@ -45,8 +49,7 @@ public abstract class AbstractDocumentFactory<T>
 	public Document asDocument(T entity)
 	throws InvalidIdentifierException, KeyDefinitionException
 	{
-		byte[] bson = codec.serialize(entity);
-		return asDocument(entity, bson);
+		return asDocument(entity, serialize(entity));
 	}
 
 	public Document asDocument(T entity, byte[] bytes)
@@ -59,7 +62,33 @@ public abstract class AbstractDocumentFactory<T>
 	@SuppressWarnings("unchecked")
 	public T asPojo(Document document)
 	{
-		return codec.deserialize(document.getObject(), (Class<T>) document.getTypeAsClass());
+		Class<T> type = (Class<T>) document.getTypeAsClass();
+
+		if (document.hasObjectArray())
+		{
+			return codec.deserialize(document.getObject(), type);
+		}
+
+		return codec.deserialize(document.getObjectAsBuffer(), type);
+	}
+
+	/**
+	 * Serialize the entity into a reused, per-thread buffer so the only payload-sized allocation is the resulting array.
+	 */
+	private byte[] serialize(T entity)
+	{
+		ByteBufferOutputStream buffer = BUFFERS.get();
+
+		try
+		{
+			codec.serialize(entity, buffer);
+			return buffer.toByteArray();
+		}
+		finally
+		{
+			buffer.reset();
+			if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) BUFFERS.remove();
+		}
 	}
 
 	protected abstract Identifier extractIdentifier(T entity)
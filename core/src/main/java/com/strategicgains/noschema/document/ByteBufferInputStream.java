@@ -0,0 +1,69 @@
+/*
+    Copyright 2024-2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.document;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An InputStream over the remaining bytes of a ByteBuffer, heap or direct, without copying them.
+ * The position of the given buffer is not changed.
+ * 
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class ByteBufferInputStream
+extends InputStream
+{
+	private final ByteBuffer buffer;
+
+	public ByteBufferInputStream(ByteBuffer buffer)
+	{
+		super();
+		this.buffer = buffer.duplicate();
+	}
+
+	@Override
+	public int read()
+	{
+		return (buffer.hasRemaining() ? (buffer.get() & 0xff) : -1);
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length)
+	{
+		if (length == 0) return 0;
+		if (!buffer.hasRemaining()) return -1;
+
+		int n = Math.min(length, buffer.remaining());
+		buffer.get(bytes, offset, n);
+		return n;
+	}
+
+	@Override
+	public long skip(long n)
+	{
+		int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+		buffer.position(buffer.position() + skipped);
+		return skipped;
+	}
+
+	@Override
+	public int available()
+	{
+		return buffer.remaining();
+	}
+}
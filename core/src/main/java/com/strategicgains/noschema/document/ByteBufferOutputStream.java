@@ -0,0 +1,63 @@
+/*
+    Copyright 2024-2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema.document;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A growable, reusable output buffer for ObjectCodec serialization. Unlike ByteArrayOutputStream.toByteArray(),
+ * toByteBuffer() exposes the written bytes without copying them, so a single buffer can be reset and reused
+ * across many writes, leaving the final copy (if any) to the caller.
+ * 
+ * Not thread safe.
+ * 
+ * @author Todd Fredrich
+ * @since 17 Oct 2026
+ */
+public class ByteBufferOutputStream
+extends ByteArrayOutputStream
+{
+	private static final int DEFAULT_INITIAL_SIZE = 512;
+
+	public ByteBufferOutputStream()
+	{
+		this(DEFAULT_INITIAL_SIZE);
+	}
+
+	public ByteBufferOutputStream(int initialSize)
+	{
+		super(initialSize);
+	}
+
+	/**
+	 * A read-only view of the bytes written so far. The view is only valid until the next write or reset().
+	 * 
+	 * @return a read-only ByteBuffer over the written bytes, without copying them.
+	 */
+	public ByteBuffer toByteBuffer()
+	{
+		return ByteBuffer.wrap(buf, 0, count).asReadOnlyBuffer();
+	}
+
+	/**
+	 * @return the current size of the underlying buffer.
+	 */
+	public int capacity()
+	{
+		return buf.length;
+	}
+}
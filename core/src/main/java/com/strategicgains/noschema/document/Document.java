@@ -15,6 +15,7 @@
 */
 package com.strategicgains.noschema.document;
 
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -27,6 +28,10 @@ import com.strategicgains.noschema.Identifier;
  * The Document class implements the Identifiable interface. It represents a document that can be stored in a key/value
  * or columnar store. The document represents an object serialized as a byte array and has an associated type so the
  * object property, stored as a byte array, can be deserialized into a POJO.
+ * 
+ * The serialized object may instead be held as a read-only ByteBuffer, for example a slice of a database driver's
+ * response, in which case a byte array is only created if getObject() is called. Readers that can consume a
+ * ByteBuffer should use getObjectAsBuffer() to avoid that copy.
  */
 public class Document
 implements Identifiable
@@ -51,6 +56,11 @@ implements Identifiable
 	 */
 	private byte[] bytes;
 
+	/**
+	 * The serialized contents as a read-only buffer, when set from a ByteBuffer. Null if set from a byte array.
+	 */
+	private ByteBuffer buffer;
+
 	/**
 	 * The fully-qualified class name of the object stored in this document. This is used to instantiate the
 	 * bytes as a POJO
@@ -62,6 +72,12 @@ implements Identifiable
 	 */
 	private Map<String, String> metadata;
 
+	/**
+	 * The identifiers of this document in its related views and indexes, by view name. Lets a store find
+	 * (and remove) the view rows for a document without reading and decoding the serialized object.
+	 */
+	private Map<String, Identifier> viewIdentifiers;
+
 	/**
 	 * Default constructor.
 	 */
@@ -148,20 +164,58 @@ implements Identifiable
 	 * @return True if the document has a BSON object, false otherwise.
 	 */
 	public boolean hasObject()
+	{
+		return (bytes != null || buffer != null);
+	}
+
+	/**
+	 * Checks if the serialized object is available as a byte array, so getObject() does not copy it.
+	 * 
+	 * @return True if the document holds its serialized object in a byte array, false otherwise.
+	 */
+	public boolean hasObjectArray()
 	{
 		return (bytes != null);
 	}
 
 	/**
-	 * Returns the serialized data contained in this document.
+	 * Returns the serialized data contained in this document. If the document holds a ByteBuffer,
+	 * its contents are copied into a new byte array on the first call.
 	 * 
 	 * @return The serialized object in the document.
 	 */
 	public byte[] getObject()
 	{
+		if (bytes == null && buffer != null)
+		{
+			bytes = new byte[buffer.remaining()];
+			buffer.duplicate().get(bytes);
+		}
+
 		return bytes;
 	}
 
+	/**
+	 * Returns the serialized data contained in this document as a read-only ByteBuffer, without copying it.
+	 * 
+	 * @return a read-only ByteBuffer positioned at the start of the serialized object, or null if there is none.
+	 */
+	public ByteBuffer getObjectAsBuffer()
+	{
+		if (buffer != null) return buffer.duplicate();
+		if (bytes != null) return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+		return null;
+	}
+
+	/**
+	 * @return the length in bytes of the serialized object, or zero if there is none.
+	 */
+	public int getObjectSize()
+	{
+		if (buffer != null) return buffer.remaining();
+		return (bytes != null ? bytes.length : 0);
+	}
+
 	/**
 	 * Sets the serialized object for the document.
 	 * 
@@ -170,6 +224,19 @@ implements Identifiable
 	public void setObject(byte[] serialized)
 	{
 		this.bytes = serialized;
+		this.buffer = null;
+	}
+
+	/**
+	 * Sets the serialized object for the document to the remaining bytes of the given buffer, without copying them.
+	 * The position of the given buffer is not changed, but its contents must not be changed afterward.
+	 * 
+	 * @param serialized The serialized byte data to be set. May be a heap or direct buffer.
+	 */
+	public void setObject(ByteBuffer serialized)
+	{
+		this.buffer = (serialized != null ? serialized.slice().asReadOnlyBuffer() : null);
+		this.bytes = null;
 	}
 
 	/**
@@ -278,6 +345,28 @@ implements Identifiable
 		return this;
 	}
 
+	public boolean hasViewIdentifiers()
+	{
+		return (viewIdentifiers != null && !viewIdentifiers.isEmpty());
+	}
+
+	public Map<String, Identifier> getViewIdentifiers()
+	{
+		return (hasViewIdentifiers() ? Collections.unmodifiableMap(viewIdentifiers) : Collections.emptyMap());
+	}
+
+	public void setViewIdentifiers(Map<String, Identifier> map)
+	{
+		viewIdentifiers = new HashMap<>(map);
+	}
+
+	public Document withViewIdentifier(String viewName, Identifier id)
+	{
+		if (viewIdentifiers == null) viewIdentifiers = new HashMap<>();
+		viewIdentifiers.put(viewName, id);
+		return this;
+	}
+
 	/**
 	 * Returns a string representation of the document.
 	 * 
@@ -286,7 +375,7 @@ implements Identifiable
 	@Override
 	public String toString()
 	{
-		return "Document{" + "id=" + identifier.toString() + ", object=" + getObject() + ", type=" + type
+		return "Document{" + "id=" + identifier.toString() + ", object=" + getObjectAsBuffer() + ", type=" + type
 			+ ", createdAt=" + getCreatedAt() + ", updatedAt=" + getUpdatedAt() + "}";
 	}
 }
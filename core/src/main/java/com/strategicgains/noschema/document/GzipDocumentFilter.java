@@ -15,11 +15,15 @@
 */
 package com.strategicgains.noschema.document;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 
 import com.strategicgains.noschema.exception.StorageException;
 
@@ -30,6 +34,17 @@ import com.strategicgains.noschema.exception.StorageException;
  * system. Trading off CPU time for storage space and can be used to reduce the amount of storage space required
  * to store a Document with a latency cost of compressing and decompressing the data.
  * <p/>
+ * The native Deflater and Inflater are reused per thread rather than created for every document. The output
+ * is a standard GZIP stream, whose trailer holds the uncompressed length, so decompression allocates an output
+ * array of exactly the right size up front. GZIP streams with optional header fields, or written by other tools,
+ * are still read via GZIPInputStream.
+ * <p/>
+ * Earlier releases ran the filter chain more than once per write, so rows written by them hold a payload
+ * compressed two or three times. When constructed to read such legacy payloads, this filter inflates up to two
+ * more times while the payload still starts with the GZIP magic number, so those rows remain readable without a
+ * migration. Rewriting such a row stores it compressed once. This is off by default, as a document whose own
+ * content is GZIP data would otherwise be inflated too.
+ * <p/>
  * Note that small payloads may not benefit from compression and may actually increase in size after compression.
  * 
  * @see DocumentFilter
@@ -38,52 +53,233 @@ import com.strategicgains.noschema.exception.StorageException;
 public class GzipDocumentFilter
 extends AbstractDocumentFilter
 {
+	// The fixed GZIP header: magic number, deflate method, no flags, no modification time, no extra flags, unknown OS.
+	private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+	private static final int HEADER_SIZE = HEADER.length;
+	// CRC-32 and uncompressed size (ISIZE), both little-endian.
+	private static final int TRAILER_SIZE = 8;
+	// The maximum compression ratio of deflate, used to reject corrupt lengths before allocating.
+	private static final int MAX_DEFLATE_RATIO = 1032;
+	// Scratch buffers larger than this are not retained between documents, to bound per-thread memory.
+	private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+	// Earlier releases ran the write filters up to three times, so legacy payloads need at most two extra inflates.
+	private static final int MAX_LEGACY_PASSES = 2;
+
+	private final int level;
+	private final boolean readsLegacyPayloads;
+	private final ThreadLocal<Deflater> deflaters;
+	private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+	private final ThreadLocal<CRC32> checksums = ThreadLocal.withInitial(CRC32::new);
+	private final ThreadLocal<byte[]> buffers = new ThreadLocal<>();
+
+	/**
+	 * Compress using the default compression level.
+	 */
+	public GzipDocumentFilter()
+	{
+		this(Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Compress using the given compression level.
+	 * 
+	 * @param level a compression level from 0 (none) to 9 (best), or -1 for the default.
+	 * @see Deflater
+	 */
+	public GzipDocumentFilter(int level)
+	{
+		this(level, false);
+	}
+
+	/**
+	 * Compress using the given compression level, optionally reading payloads compressed more than once by earlier releases.
+	 * 
+	 * @param level a compression level from 0 (none) to 9 (best), or -1 for the default.
+	 * @param readsLegacyPayloads true to inflate payloads compressed up to three times.
+	 * @see Deflater
+	 */
+	public GzipDocumentFilter(int level, boolean readsLegacyPayloads)
+	{
+		super();
+
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+
+		this.level = level;
+		this.readsLegacyPayloads = readsLegacyPayloads;
+		this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level, true));
+	}
+
+	public int getLevel()
+	{
+		return level;
+	}
+
+	public boolean readsLegacyPayloads()
+	{
+		return readsLegacyPayloads;
+	}
+
 	@Override
 	public void onWrite(Document document)
 	{
-		if (document.getObject() == null)
+		if (!document.hasObject())
 		{
 			return;
 		}
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (GZIPOutputStream gzip = new GZIPOutputStream(baos))
-        {
-            gzip.write(document.getObject());
-            gzip.flush();
-        }
-		catch (IOException e)
+		ByteBuffer input = document.getObjectAsBuffer();
+		int length = input.remaining();
+		CRC32 crc = checksums.get();
+		crc.reset();
+		crc.update(input.duplicate());
+
+		Deflater deflater = deflaters.get();
+		deflater.reset();
+		deflater.setInput(input);
+		deflater.finish();
+
+		// Usually enough for the whole stream, as incompressible data only grows by a few bytes per block.
+		byte[] out = scratch(HEADER_SIZE + length + (length >> 12) + (length >> 14) + 64 + TRAILER_SIZE);
+		System.arraycopy(HEADER, 0, out, 0, HEADER_SIZE);
+		int size = HEADER_SIZE;
+
+		while (true)
 		{
-			throw new StorageException(String.format("Error compressing data for document: %s", document.getType()), e);
+			size += deflater.deflate(out, size, out.length - size - TRAILER_SIZE);
+
+			if (deflater.finished()) break;
+
+			out = Arrays.copyOf(out, out.length + (out.length >> 1));
 		}
 
-		document.setObject(baos.toByteArray());
+		ByteBuffer.wrap(out, size, TRAILER_SIZE)
+			.order(ByteOrder.LITTLE_ENDIAN)
+			.putInt((int) crc.getValue())
+			.putInt(length);
+		size += TRAILER_SIZE;
+
+		document.setObject(Arrays.copyOf(out, size));
+		release(out);
 	}
 
 	@Override
 	public void onRead(Document document)
 	{
-		if (document.getObject() == null)
+		if (!document.hasObject())
 		{
 			return;
 		}
 
-		ByteArrayInputStream bais = new ByteArrayInputStream(document.getObject());
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		try (GZIPInputStream gzip = new GZIPInputStream(bais))
+		ByteBuffer input = document.getObjectAsBuffer();
+
+		try
 		{
-			byte[] buffer = new byte[1024];
-			int length;
-			while ((length = gzip.read(buffer)) != -1)
+			byte[] out = (isFixedHeader(input) ? inflate(input) : readStream(input));
+
+			// Earlier releases compressed the payload up to three times on write.
+			for (int pass = 0; readsLegacyPayloads && pass < MAX_LEGACY_PASSES && isGzip(out); pass++)
 			{
-				baos.write(buffer, 0, length);
+				ByteBuffer nested = ByteBuffer.wrap(out);
+				out = (isFixedHeader(nested) ? inflate(nested) : readStream(nested));
 			}
 
-			document.setObject(baos.toByteArray());
+			document.setObject(out);
 		}
-		catch (IOException e)
+		catch (IOException | DataFormatException e)
 		{
 			throw new StorageException(String.format("Error decompressing data for document: %s", document.getType()), e);
 		}
 	}
+
+	private byte[] inflate(ByteBuffer input)
+	throws IOException, DataFormatException
+	{
+		ByteBuffer trailer = input.slice(input.limit() - TRAILER_SIZE, TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		int expectedCrc = trailer.getInt(0);
+		int length = trailer.getInt(4);
+
+		// A negative or implausible length means a multi-gigabyte or multi-member stream: let GZIPInputStream sort it out.
+		if (length < 0 || (long) length > (long) input.remaining() * MAX_DEFLATE_RATIO)
+		{
+			return readStream(input);
+		}
+
+		Inflater inflater = inflaters.get();
+		inflater.reset();
+		// The trailer is left in the input, providing the extra byte the inflater may need without a zlib header.
+		inflater.setInput(input.slice(input.position() + HEADER_SIZE, input.remaining() - HEADER_SIZE));
+		byte[] out = new byte[length];
+		int size = 0;
+
+		while (size < length && !inflater.finished())
+		{
+			int n = inflater.inflate(out, size, length - size);
+
+			if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+
+			size += n;
+		}
+
+		// Trailing data after the first member means concatenated members.
+		if (size != length || !inflater.finished() || inflater.getRemaining() != TRAILER_SIZE)
+		{
+			return readStream(input);
+		}
+
+		CRC32 crc = checksums.get();
+		crc.reset();
+		crc.update(out, 0, size);
+
+		if ((int) crc.getValue() != expectedCrc)
+		{
+			throw new IOException("Corrupt GZIP trailer");
+		}
+
+		return out;
+	}
+
+	private byte[] readStream(ByteBuffer input)
+	throws IOException
+	{
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteBufferInputStream(input)))
+		{
+			return gzip.readAllBytes();
+		}
+	}
+
+	private boolean isGzip(byte[] bytes)
+	{
+		return bytes.length >= HEADER_SIZE + TRAILER_SIZE
+			&& bytes[0] == HEADER[0]
+			&& bytes[1] == HEADER[1]
+			&& bytes[2] == Deflater.DEFLATED;
+	}
+
+	private boolean isFixedHeader(ByteBuffer input)
+	{
+		if (input.remaining() < HEADER_SIZE + TRAILER_SIZE) return false;
+
+		int p = input.position();
+		return input.get(p) == HEADER[0]
+			&& input.get(p + 1) == HEADER[1]
+			&& input.get(p + 2) == Deflater.DEFLATED
+			&& input.get(p + 3) == 0;
+	}
+
+	private byte[] scratch(int size)
+	{
+		byte[] buffer = buffers.get();
+		return (buffer != null && buffer.length >= size ? buffer : new byte[size]);
+	}
+
+	private void release(byte[] buffer)
+	{
+		if (buffer.length <= MAX_RETAINED_BUFFER_SIZE && buffer != buffers.get())
+		{
+			buffers.set(buffer);
+		}
+	}
 }
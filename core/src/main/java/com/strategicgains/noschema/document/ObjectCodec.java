@@ -15,8 +15,80 @@
 */
 package com.strategicgains.noschema.document;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.strategicgains.noschema.exception.ConfigurationException;
+
+/**
+ * Serializes and deserializes objects for storage as the payload of a Document.
+ * 
+ * Implementations provide the byte array methods. The streaming and ByteBuffer methods are defaults
+ * built on those, which implementations may override to avoid intermediate copies of the payload.
+ * 
+ * @param <T> the type of object to serialize and deserialize.
+ */
 public interface ObjectCodec<T>
 {
 	byte[] serialize(T object);
 	T deserialize(byte[] bytes, Class<T> clazz);
-}
\ No newline at end of file
+
+	/**
+	 * Serialize the object into the given OutputStream, which is not closed.
+	 * 
+	 * @param object the object to serialize.
+	 * @param out the destination of the serialized bytes.
+	 */
+	default void serialize(T object, OutputStream out)
+	{
+		try
+		{
+			out.write(serialize(object));
+		}
+		catch (IOException e)
+		{
+			throw new ConfigurationException(e);
+		}
+	}
+
+	/**
+	 * Deserialize an object from the given InputStream, which is not closed.
+	 * 
+	 * @param in the source of the serialized bytes.
+	 * @param clazz the type of object to create.
+	 * @return a new instance of the object.
+	 */
+	default T deserialize(InputStream in, Class<T> clazz)
+	{
+		try
+		{
+			return deserialize(in.readAllBytes(), clazz);
+		}
+		catch (IOException e)
+		{
+			throw new ConfigurationException(e);
+		}
+	}
+
+	/**
+	 * Deserialize an object from the remaining bytes of the buffer, without changing its position.
+	 * The buffer may be a heap or direct buffer.
+	 * 
+	 * @param buffer the serialized bytes.
+	 * @param clazz the type of object to create.
+	 * @return a new instance of the object.
+	 */
+	default T deserialize(ByteBuffer buffer, Class<T> clazz)
+	{
+		if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0 && buffer.remaining() == buffer.array().length)
+		{
+			return deserialize(buffer.array(), clazz);
+		}
+
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return deserialize(bytes, clazz);
+	}
+}
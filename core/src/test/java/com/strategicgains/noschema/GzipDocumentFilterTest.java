@@ -15,8 +15,18 @@
 */
 package com.strategicgains.noschema;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 import org.junit.Test;
 
 import com.strategicgains.noschema.document.Document;
@@ -39,4 +49,120 @@ public class GzipDocumentFilterTest
 		System.out.println("Decompressed: " + document.getObject().length);
 		assertEquals(JSON, new String(document.getObject()));
 	}
+
+	@Test
+	public void shouldRoundTripAtEachLevelAndSize()
+	{
+		Random random = new Random(42);
+
+		for (int size : new int[] {0, 1, 100, 70_000, 1_000_000})
+		{
+			byte[] payload = new byte[size];
+			random.nextBytes(payload);
+
+			for (int level = -1; level <= 9; level++)
+			{
+				GzipDocumentFilter gzip = new GzipDocumentFilter(level);
+				Document document = new Document(payload, Object.class);
+				gzip.onWrite(document);
+				gzip.onRead(document);
+				assertArrayEquals(payload, document.getObject());
+			}
+		}
+	}
+
+	@Test
+	public void shouldBeReadableAsGzip()
+	throws IOException
+	{
+		Document document = new Document(JSON.getBytes(), Object.class);
+		filter.onWrite(document);
+
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(document.getObject())))
+		{
+			assertEquals(JSON, new String(gzip.readAllBytes()));
+		}
+	}
+
+	@Test
+	public void shouldReadStreamsWrittenByGzipOutputStream()
+	throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+		try (GZIPOutputStream gzip = new GZIPOutputStream(baos))
+		{
+			gzip.write(JSON.getBytes());
+		}
+
+		// Concatenated members, which GZIPInputStream reads as one stream.
+		byte[] member = baos.toByteArray();
+		byte[] concatenated = new byte[member.length * 2];
+		System.arraycopy(member, 0, concatenated, 0, member.length);
+		System.arraycopy(member, 0, concatenated, member.length, member.length);
+
+		Document document = new Document(member, Object.class);
+		filter.onRead(document);
+		assertEquals(JSON, new String(document.getObject()));
+
+		document = new Document(concatenated, Object.class);
+		filter.onRead(document);
+		assertEquals(JSON + JSON, new String(document.getObject()));
+	}
+
+	@Test
+	public void shouldReadFromDirectBuffer()
+	{
+		Document document = new Document(JSON.getBytes(), Object.class);
+		filter.onWrite(document);
+		byte[] compressed = document.getObject();
+		document.setObject(ByteBuffer.allocateDirect(compressed.length).put(compressed).flip());
+		filter.onRead(document);
+		assertEquals(JSON, new String(document.getObject()));
+	}
+
+	@Test
+	public void shouldReadPayloadsCompressedMoreThanOnceWhenEnabled()
+	{
+		GzipDocumentFilter legacy = new GzipDocumentFilter(Deflater.DEFAULT_COMPRESSION, true);
+		Document document = new Document(JSON.getBytes(), Object.class);
+		legacy.onWrite(document);
+		legacy.onWrite(document);
+		legacy.onWrite(document);
+		legacy.onRead(document);
+		assertEquals(JSON, new String(document.getObject()));
+	}
+
+	@Test
+	public void shouldLimitLegacyInflatePasses()
+	{
+		GzipDocumentFilter legacy = new GzipDocumentFilter(Deflater.DEFAULT_COMPRESSION, true);
+		Document document = new Document(JSON.getBytes(), Object.class);
+		filter.onWrite(document);
+		byte[] once = document.getObject();
+		filter.onWrite(document);
+		filter.onWrite(document);
+		filter.onWrite(document);
+		legacy.onRead(document);
+		assertArrayEquals(once, document.getObject());
+	}
+
+	@Test
+	public void shouldNotInflateGzipContentByDefault()
+	{
+		Document document = new Document(JSON.getBytes(), Object.class);
+		filter.onWrite(document);
+		byte[] content = document.getObject();
+
+		document = new Document(content, Object.class);
+		filter.onWrite(document);
+		filter.onRead(document);
+		assertArrayEquals(content, document.getObject());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectInvalidLevel()
+	{
+		new GzipDocumentFilter(10);
+	}
 }
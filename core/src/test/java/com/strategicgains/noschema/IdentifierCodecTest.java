@@ -0,0 +1,78 @@
+/*
+    Copyright 2026, Strategic Gains, Inc.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+*/
+package com.strategicgains.noschema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.strategicgains.noschema.exception.InvalidIdentifierException;
+
+public class IdentifierCodecTest
+{
+	@Test
+	public void shouldRoundTripAllTypes()
+	{
+		Identifier id = new Identifier(
+			"ros\u00e9", UUID.fromString("8dbac965-a1c8-4ad6-a043-5f5a9a5ee8c0"), Instant.ofEpochSecond(1648598130L, 248000000),
+			new Date(1648598130233L), 42, 42L, 3.25f, 3.14159d, new BigDecimal("-1234.5678"), Boolean.TRUE);
+
+		Identifier decoded = IdentifierCodec.decode(IdentifierCodec.encode(id));
+		assertEquals(id, decoded);
+
+		for (int i = 0; i < id.size(); i++)
+		{
+			assertEquals(id.components().get(i).getClass(), decoded.components().get(i).getClass());
+		}
+	}
+
+	@Test
+	public void shouldBeCompact()
+	{
+		Identifier id = new Identifier(UUID.fromString("8dbac965-a1c8-4ad6-a043-5f5a9a5ee8c0"));
+		byte[] bytes = IdentifierCodec.encode(id);
+		assertEquals(18, bytes.length);
+		assertTrue(bytes.length < id.toString().getBytes().length);
+	}
+
+	@Test
+	public void shouldNotMoveBufferPosition()
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(IdentifierCodec.encode(new Identifier("a", 1)));
+		assertEquals(new Identifier("a", 1), IdentifierCodec.decode(buffer));
+		assertEquals(0, buffer.position());
+	}
+
+	@Test(expected = InvalidIdentifierException.class)
+	public void shouldRejectUnsupportedType()
+	{
+		IdentifierCodec.encode(new Identifier(new Object()));
+	}
+
+	@Test(expected = InvalidIdentifierException.class)
+	public void shouldRejectTruncatedBytes()
+	{
+		byte[] bytes = IdentifierCodec.encode(new Identifier(UUID.randomUUID()));
+		IdentifierCodec.decode(ByteBuffer.wrap(bytes, 0, 10));
+	}
+}
@@ -15,12 +15,21 @@
 */
 package com.strategicgains.noschema.gson;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.strategicgains.noschema.document.ByteBufferInputStream;
 import com.strategicgains.noschema.document.ObjectCodec;
+import com.strategicgains.noschema.exception.ConfigurationException;
 
 /**
  * A Gson-based implementation of ObjectCodec that serializes and deserializes objects based on the configuration of the
@@ -69,6 +78,34 @@ implements ObjectCodec<T>
 		return gson.fromJson(jsonStr, clazz);
 	}
 
+	@Override
+	public void serialize(T object, OutputStream out)
+	{
+		Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+
+		try
+		{
+			gson.toJson(object, writer);
+			writer.flush();
+		}
+		catch (IOException e)
+		{
+			throw new ConfigurationException(e);
+		}
+	}
+
+	@Override
+	public T deserialize(ByteBuffer buffer, Class<T> clazz)
+	{
+		return deserialize(new ByteBufferInputStream(buffer), clazz);
+	}
+
+	@Override
+	public T deserialize(InputStream in, Class<T> clazz)
+	{
+		return gson.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), clazz);
+	}
+
 	private static Gson createDefaultGson()
 	{
 		return new GsonBuilder()
@@ -20,6 +20,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -27,6 +29,7 @@ import java.util.UUID;
 
 import org.junit.Test;
 
+import com.strategicgains.noschema.document.ByteBufferOutputStream;
 import com.strategicgains.noschema.entity.Flower;
 
 public class GsonFlowerTest
@@ -70,6 +73,43 @@ public class GsonFlowerTest
 		makeFlowerAssertions(id, accountId, createdAt, updatedAt, decoded);
 	}
 
+	@Test
+	public void shouldStreamThroughBuffers()
+	{
+		UUID id = UUID.fromString("8dbac965-a1c8-4ad6-a043-5f5a9a5ee8c0");
+		UUID accountId = UUID.fromString("a87d3bff-6997-4739-ab4e-ded0cc85700f");
+		Date createdAt = new Date(1648598130248L);
+		Date updatedAt = new Date(1648598130233L);
+		Flower flower = new Flower(id, "rose", true, 3.25f, Arrays.asList("red", "white", "pink", "yellow"));
+		flower.setAccountId(accountId);
+		flower.setCreatedAt(createdAt);
+		flower.setUpdatedAt(updatedAt);
+
+		GsonObjectCodec<Flower> codec = new GsonObjectCodec<>();
+		ByteBufferOutputStream out = new ByteBufferOutputStream(16);
+		codec.serialize(flower, out);
+		ByteBuffer heap = out.toByteBuffer();
+		ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining()).put(heap.duplicate()).flip();
+
+		makeFlowerAssertions(id, accountId, createdAt, updatedAt, codec.deserialize(heap, Flower.class));
+		makeFlowerAssertions(id, accountId, createdAt, updatedAt, codec.deserialize(direct, Flower.class));
+		assertEquals(0, direct.position());
+	}
+
+	@Test
+	public void shouldEncodeAndDecodeNonAsciiAsUtf8()
+	{
+		Flower flower = new Flower();
+		String name = "ros\u00e9 \u4e2d \ud83c\udf39";
+		flower.setName(name);
+
+		GsonObjectCodec<Flower> codec = new GsonObjectCodec<>();
+		ByteBufferOutputStream out = new ByteBufferOutputStream(4);
+		codec.serialize(flower, out);
+		assertTrue(new String(out.toByteArray(), StandardCharsets.UTF_8).contains("\"name\":\"" + name + "\""));
+		assertEquals(name, codec.deserialize(out.toByteBuffer(), Flower.class).getName());
+	}
+
 	@Test
 	public void shouldSkipNullValues()
 	{
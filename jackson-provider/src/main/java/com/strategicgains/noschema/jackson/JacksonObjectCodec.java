@@ -15,17 +15,21 @@
 */
 package com.strategicgains.noschema.jackson;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.strategicgains.noschema.document.ByteBufferInputStream;
 import com.strategicgains.noschema.document.ObjectCodec;
 import com.strategicgains.noschema.exception.ConfigurationException;
 
@@ -68,9 +72,8 @@ implements ObjectCodec<T>
 	{
 		try
 		{
-			ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			mapper.writeValue(baos, object);
-			return baos.toByteArray();
+			// Jackson serializes into its own recycled buffers, copying only once into the result.
+			return mapper.writeValueAsBytes(object);
 		}
 		catch (IOException e)
 		{
@@ -78,12 +81,58 @@ implements ObjectCodec<T>
 		}		
 	}
 
+	@Override
+	public void serialize(T object, OutputStream out)
+	{
+		try (JsonGenerator generator = mapper.createGenerator(out))
+		{
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			mapper.writeValue(generator, object);
+		}
+		catch (IOException e)
+		{
+			throw new ConfigurationException(e);
+		}
+	}
+
+	@Override
 	public T deserialize(byte[] bytes, Class<T> clazz)
 	{
-		ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
 		try
 		{
-			return mapper.readValue(bais, clazz);
+			return mapper.readValue(bytes, clazz);
+		}
+		catch (IOException e)
+		{
+			throw new ConfigurationException(e);
+		}
+	}
+
+	@Override
+	public T deserialize(ByteBuffer buffer, Class<T> clazz)
+	{
+		try
+		{
+			if (buffer.hasArray())
+			{
+				return mapper.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), clazz);
+			}
+
+			return mapper.readValue(new ByteBufferInputStream(buffer), clazz);
+		}
+		catch (IOException e)
+		{
+			throw new ConfigurationException(e);
+		}
+	}
+
+	@Override
+	public T deserialize(InputStream in, Class<T> clazz)
+	{
+		try (JsonParser parser = mapper.createParser(in))
+		{
+			parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+			return mapper.readValue(parser, clazz);
 		}
 		catch (IOException e)
 		{
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.UUID;
 
 import org.junit.Test;
 
+import com.strategicgains.noschema.document.ByteBufferOutputStream;
 import com.strategicgains.noschema.entity.Flower;
 
 public class JacksonFlowerTest
@@ -70,6 +72,29 @@ public class JacksonFlowerTest
 		makeFlowerAssertions(id, accountId, createdAt, updatedAt, decoded);
 	}
 
+	@Test
+	public void shouldStreamThroughBuffers()
+	{
+		UUID id = UUID.fromString("8dbac965-a1c8-4ad6-a043-5f5a9a5ee8c0");
+		UUID accountId = UUID.fromString("a87d3bff-6997-4739-ab4e-ded0cc85700f");
+		Date createdAt = new Date(1648598130248L);
+		Date updatedAt = new Date(1648598130233L);
+		Flower flower = new Flower(id, "rose", true, 3.25f, Arrays.asList("red", "white", "pink", "yellow"));
+		flower.setAccountId(accountId);
+		flower.setCreatedAt(createdAt);
+		flower.setUpdatedAt(updatedAt);
+
+		JacksonObjectCodec<Flower> codec = new JacksonObjectCodec<>();
+		ByteBufferOutputStream out = new ByteBufferOutputStream(16);
+		codec.serialize(flower, out);
+		ByteBuffer heap = out.toByteBuffer();
+		ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining()).put(heap.duplicate()).flip();
+
+		makeFlowerAssertions(id, accountId, createdAt, updatedAt, codec.deserialize(heap, Flower.class));
+		makeFlowerAssertions(id, accountId, createdAt, updatedAt, codec.deserialize(direct, Flower.class));
+		assertEquals(0, direct.position());
+	}
+
 	@Test
 	public void shouldSkipNullValues()
 	{